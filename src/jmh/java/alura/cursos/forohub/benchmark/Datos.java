@@ -0,0 +1,48 @@
+package alura.cursos.forohub.benchmark;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.Topico;
+import alura.cursos.forohub.domain.usuario.Usuario;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entidades de ejemplo compartidas por los benchmarks.
+ */
+final class Datos {
+
+    private Datos() {
+    }
+
+    static Usuario usuario(Long id, String nombre, Perfil... perfiles) {
+        var usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNombre(nombre);
+        usuario.setCorreoElectronico("usuario" + id + "@forohub.com");
+        usuario.setContrasena("x");
+        usuario.setPerfiles(new HashSet<>(Set.of(perfiles)));
+        return usuario;
+    }
+
+    static Topico topico(long id, Usuario autor, Curso curso) {
+        var topico = new Topico();
+        topico.setId(id);
+        topico.setTitulo("Error al configurar JPA con Spring Boot " + id);
+        topico.setMensaje("Tengo un problema al configurar JPA: la aplicación no arranca y muestra \"Table not found\". " + id);
+        topico.setFechaCreacion(LocalDateTime.of(2026, 1, 1, 10, 0).plusMinutes(id));
+        topico.setStatus(StatusTopico.ABIERTO);
+        topico.setAutor(autor);
+        topico.setCurso(curso);
+        topico.setTotalRespuestas((int) (id % 7));
+        topico.setVersion(id % 3);
+        return topico;
+    }
+
+    static Curso curso(Long id, String nombre) {
+        return new Curso(id, nombre, "Backend");
+    }
+}
@@ -0,0 +1,41 @@
+package alura.cursos.forohub.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes por segundo de BCrypt según el costo (seguridad.bcrypt.fuerza).
+ * Sirve para elegir el costo que el pool de login puede sostener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int fuerza;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(fuerza);
+        hash = encoder.encode("123456");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("123456", hash);
+    }
+}
@@ -0,0 +1,148 @@
+package alura.cursos.forohub.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Tiempo hasta el primer GET /topicos exitoso y memoria residente (RSS) en ese momento, arrancando la API
+ * varias veces en cada modo: jvm (jar normal), aot, cds, aot-cds (artefactos del perfil arranque-rapido en
+ * target/cds) y nativo (target/forohub de ./mvnw -Pnative native:compile). Cada arranque usa la base de
+ * application.properties; entre modos no cambia nada más.
+ *
+ * <pre>
+ * ./mvnw -Parranque-rapido -DskipTests package
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=alura.cursos.forohub.benchmark.PruebaArranque \
+ *     -Dexec.args="jvm,aot,cds,aot-cds 5"
+ * </pre>
+ */
+public class PruebaArranque {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+    private static final Duration LIMITE = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        var modos = (args.length > 0 ? args[0] : "jvm,aot,cds,aot-cds").split(",");
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int puerto = args.length > 2 ? Integer.parseInt(args[2]) : 8080;
+        var destino = Path.of(System.getProperty("arranque.target", "target"));
+
+        var http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        System.out.printf("%-8s %12s %12s %10s%n", "modo", "p50 ms", "max ms", "RSS MB");
+        for (var modo : modos) {
+            var comando = comando(modo, destino, puerto);
+            var tiempos = new long[repeticiones];
+            var memoria = new long[repeticiones];
+            for (int i = 0; i < repeticiones; i++) {
+                var medicion = medir(http, comando, puerto);
+                tiempos[i] = medicion[0];
+                memoria[i] = medicion[1];
+            }
+            Arrays.sort(tiempos);
+            Arrays.sort(memoria);
+            System.out.printf("%-8s %12.0f %12.0f %10.1f%n", modo, tiempos[repeticiones / 2] / 1e6,
+                    tiempos[repeticiones - 1] / 1e6, memoria[repeticiones / 2] / 1024.0);
+        }
+    }
+
+    private static List<String> comando(String modo, Path destino, int puerto) throws IOException {
+        var comando = new ArrayList<String>();
+        var java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        switch (modo) {
+            case "jvm" -> comando.addAll(List.of(java, "-jar", jar(destino).toString()));
+            case "aot" -> comando.addAll(List.of(java, "-Dspring.aot.enabled=true", "-jar", jar(destino.resolve("cds")).toString()));
+            case "cds" -> comando.addAll(List.of(java, "-XX:SharedArchiveFile=" + destino.resolve("cds/application.jsa"),
+                    "-jar", jar(destino.resolve("cds")).toString()));
+            case "aot-cds" -> comando.addAll(List.of(java, "-XX:SharedArchiveFile=" + destino.resolve("cds/application.jsa"),
+                    "-Dspring.aot.enabled=true", "-jar", jar(destino.resolve("cds")).toString()));
+            case "nativo" -> comando.add(destino.resolve("forohub").toString());
+            default -> throw new IllegalArgumentException("Modo desconocido: " + modo);
+        }
+        comando.add("--server.port=" + puerto);
+        return comando;
+    }
+
+    private static Path jar(Path directorio) throws IOException {
+        try (var archivos = Files.list(directorio)) {
+            return archivos.filter(p -> p.toString().endsWith(".jar") && !p.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No hay jar en " + directorio));
+        }
+    }
+
+    // Devuelve {nanos hasta el primer 200 de GET /topicos, RSS en kB en ese instante}
+    private static long[] medir(HttpClient http, List<String> comando, int puerto) throws Exception {
+        long inicio = System.nanoTime();
+        var proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            var baseUrl = "http://localhost:" + puerto;
+            String token = null;
+            while (System.nanoTime() - inicio < LIMITE.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La API terminó con código " + proceso.exitValue() + ": " + comando);
+                }
+                try {
+                    if (token == null) {
+                        token = login(http, baseUrl);
+                    }
+                    var respuesta = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/topicos"))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build(), HttpResponse.BodyHandlers.discarding());
+                    if (respuesta.statusCode() == 200) {
+                        return new long[]{System.nanoTime() - inicio, rss(proceso.pid())};
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sin respuesta de GET /topicos tras " + LIMITE + ": " + comando);
+        } finally {
+            proceso.destroy();
+            proceso.waitFor();
+        }
+    }
+
+    private static String login(HttpClient http, String baseUrl) throws Exception {
+        String correo = System.getProperty("carga.correo", "admin@forohub.com");
+        String contrasena = System.getProperty("carga.contrasena", "123456");
+        var respuesta = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"correoElectronico\":\"" + correo + "\",\"contrasena\":\"" + contrasena + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        var matcher = TOKEN.matcher(respuesta.body());
+        if (respuesta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login fallido (" + respuesta.statusCode() + "): " + respuesta.body());
+        }
+        return matcher.group(1);
+    }
+
+    // Linux: VmRSS de /proc; en otros sistemas, ps
+    private static long rss(long pid) throws Exception {
+        var status = Path.of("/proc", String.valueOf(pid), "status");
+        if (Files.exists(status)) {
+            var matcher = RSS.matcher(Files.readString(status));
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        var ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+        return Long.parseLong(new String(ps.getInputStream().readAllBytes()).trim());
+    }
+}
@@ -0,0 +1,123 @@
+package alura.cursos.forohub.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga en lazo cerrado contra una instancia en ejecución: N clientes concurrentes
+ * piden GET /topicos durante un tiempo fijo y se reportan throughput, p50, p99 y errores.
+ * Se ejecuta una vez con spring.threads.virtual.enabled=false y otra con true para comparar.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=alura.cursos.forohub.benchmark.PruebaCarga \
+ *     -Dexec.args="http://localhost:8080 500 30"
+ * </pre>
+ */
+public class PruebaCarga {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String ruta = args.length > 3 ? args[3] : "/topicos";
+
+        var http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(http, baseUrl);
+
+        var peticion = HttpRequest.newBuilder(URI.create(baseUrl + ruta))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        var errores = new AtomicLong();
+        List<long[]> latenciasPorCliente = new ArrayList<>();
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                var latencias = new long[1 << 16];
+                latenciasPorCliente.add(latencias);
+                executor.submit(() -> ejecutarCliente(http, peticion, fin, latencias, errores));
+            }
+        }
+
+        reportar(latenciasPorCliente, errores.get(), segundos, clientes);
+    }
+
+    private static void ejecutarCliente(HttpClient http, HttpRequest peticion, long fin,
+                                        long[] latencias, AtomicLong errores) {
+        int n = 0;
+        while (System.nanoTime() < fin) {
+            long inicio = System.nanoTime();
+            try {
+                var respuesta = http.send(peticion, HttpResponse.BodyHandlers.discarding());
+                if (respuesta.statusCode() != 200) {
+                    errores.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errores.incrementAndGet();
+            }
+            // El primer elemento guarda la cantidad de muestras
+            if (n + 1 < latencias.length) {
+                latencias[++n] = System.nanoTime() - inicio;
+            }
+        }
+        latencias[0] = n;
+    }
+
+    private static void reportar(List<long[]> latenciasPorCliente, long errores, int segundos, int clientes) {
+        long total = latenciasPorCliente.stream().mapToLong(l -> l[0]).sum();
+        long[] todas = new long[(int) total];
+        int pos = 0;
+        for (long[] latencias : latenciasPorCliente) {
+            int n = (int) latencias[0];
+            System.arraycopy(latencias, 1, todas, pos, n);
+            pos += n;
+        }
+        Arrays.sort(todas);
+        System.out.printf("clientes=%d duracion=%ds peticiones=%d errores=%d%n", clientes, segundos, total, errores);
+        System.out.printf("throughput=%.1f req/s%n", total / (double) segundos);
+        System.out.printf("p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 1.0));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private static String login(HttpClient http, String baseUrl) throws Exception {
+        String correo = System.getProperty("carga.correo", "admin@forohub.com");
+        String contrasena = System.getProperty("carga.contrasena", "123456");
+        var peticion = HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"correoElectronico\":\"" + correo + "\",\"contrasena\":\"" + contrasena + "\"}"))
+                .build();
+        var respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofString());
+        var matcher = TOKEN.matcher(respuesta.body());
+        if (respuesta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login fallido (" + respuesta.statusCode() + "): " + respuesta.body());
+        }
+        return matcher.group(1);
+    }
+}
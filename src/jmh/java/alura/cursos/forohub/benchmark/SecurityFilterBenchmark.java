@@ -0,0 +1,70 @@
+package alura.cursos.forohub.benchmark;
+
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.infra.security.CacheTokens;
+import alura.cursos.forohub.infra.security.RegistroRevocaciones;
+import alura.cursos.forohub.infra.security.SecurityFilter;
+import alura.cursos.forohub.infra.security.TokenService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de SecurityFilter por petición: lectura del encabezado Authorization, caché de tokens
+ * y, en caso de fallo de caché, verificación del JWT y construcción del principal desde los claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private static final FilterChain CADENA_VACIA = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean conCache;
+
+    private CacheTokens cacheTokens;
+    private SecurityFilter filtro;
+    private MockHttpServletRequest request;
+    private MockHttpServletRequest requestSinToken;
+
+    @Setup
+    public void preparar() {
+        var tokenService = new TokenService("benchmark-secret-de-al-menos-32-caracteres", 86_400_000L);
+        cacheTokens = new CacheTokens(10_000, Duration.ofMinutes(5));
+        filtro = new SecurityFilter(tokenService, null, cacheTokens, new RegistroRevocaciones(cacheTokens, 86_400_000), true);
+
+        var token = tokenService.generarToken(Datos.usuario(1L, "Juan Pérez", new Perfil(1L, "ROLE_USER")));
+        request = new MockHttpServletRequest("GET", "/topicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        requestSinToken = new MockHttpServletRequest("GET", "/topicos");
+    }
+
+    @Benchmark
+    public Object conToken() throws Exception {
+        if (!conCache) {
+            // Fallo de caché: cada petición verifica la firma del token
+            cacheTokens.invalidarTodo();
+        }
+        try {
+            filtro.doFilter(request, new MockHttpServletResponse(), CADENA_VACIA);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object sinToken() throws Exception {
+        filtro.doFilter(requestSinToken, new MockHttpServletResponse(), CADENA_VACIA);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
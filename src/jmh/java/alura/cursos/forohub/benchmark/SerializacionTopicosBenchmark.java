@@ -0,0 +1,69 @@
+package alura.cursos.forohub.benchmark;
+
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.domain.topico.Topico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosRespuestaTopico;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeo entidad → DTO (DatosListadoTopico, DatosRespuestaTopico) y serialización con Jackson de
+ * una página de GET /topicos, para el tamaño de página por defecto y el máximo del cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SerializacionTopicosBenchmark {
+
+    @Param({"10", "100"})
+    private int tamanioPagina;
+
+    private JsonMapper jsonMapper;
+    private List<Topico> topicos;
+    private PageImpl<DatosListadoTopico> pagina;
+
+    @Setup
+    public void preparar() {
+        jsonMapper = JsonMapper.builder().build();
+        var autor = Datos.usuario(1L, "Juan Pérez", new Perfil(1L, "ROLE_USER"));
+        var curso = Datos.curso(1L, "Spring Boot");
+        topicos = new ArrayList<>(tamanioPagina);
+        for (long id = 1; id <= tamanioPagina; id++) {
+            topicos.add(Datos.topico(id, autor, curso));
+        }
+        pagina = new PageImpl<>(mapearListado(),
+                PageRequest.of(0, tamanioPagina, Sort.by("fechaCreacion")), 10_000);
+    }
+
+    @Benchmark
+    public List<DatosListadoTopico> mapearListado() {
+        return topicos.stream().map(DatosListadoTopico::new).toList();
+    }
+
+    @Benchmark
+    public List<DatosRespuestaTopico> mapearRespuesta() {
+        return topicos.stream().map(DatosRespuestaTopico::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() {
+        return jsonMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] mapearYSerializarPagina() {
+        var contenido = new PageImpl<>(mapearListado(), pagina.getPageable(), pagina.getTotalElements());
+        return jsonMapper.writeValueAsBytes(contenido);
+    }
+}
@@ -0,0 +1,41 @@
+package alura.cursos.forohub.benchmark;
+
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import alura.cursos.forohub.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emisión y verificación de JWT (HMAC256): TokenService.generarToken y getSubject.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        tokenService = new TokenService("benchmark-secret-de-al-menos-32-caracteres", 86_400_000L);
+        usuario = Datos.usuario(1L, "Juan Pérez", new Perfil(1L, "ROLE_USER"));
+        token = tokenService.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return tokenService.generarToken(usuario);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(token);
+    }
+}
@@ -0,0 +1,150 @@
+package alura.cursos.forohub.benchmark;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.Topico;
+import alura.cursos.forohub.domain.topico.TopicoService;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TopicoService (listado, búsqueda por curso/año y cursor) contra H2 en memoria en modo MySQL,
+ * con el esquema generado desde las entidades (mismos índices que las migraciones) y
+ * {@code filas} tópicos repartidos en 10 cursos a lo largo de tres años.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class TopicoServiceBenchmark {
+
+    private static final Sort POR_FECHA = Sort.by("fechaCreacion");
+
+    @Param({"20000"})
+    private int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private TopicoService topicoService;
+    private String cursorIntermedio;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("alura.cursos.forohub.domain")
+    @EnableJpaRepositories("alura.cursos.forohub.domain")
+    @Import(TopicoService.class)
+    static class Contexto {
+    }
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Contexto.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=500",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.orm.cache=ERROR",
+                        "logging.level.com.github.benmanes.caffeine=ERROR")
+                .run();
+        topicoService = contexto.getBean(TopicoService.class);
+        poblar(contexto.getBean(EntityManager.class), contexto.getBean(TransactionTemplate.class));
+
+        var pagina = topicoService.buscarTopicosCursor(null, null, "", 100);
+        for (int i = 0; i < filas / 200; i++) {
+            pagina = topicoService.buscarTopicosCursor(null, null, pagina.next(), 100);
+        }
+        cursorIntermedio = pagina.next();
+    }
+
+    @TearDown
+    public void cerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Page<DatosListadoTopico> listarPrimeraPagina() {
+        return topicoService.listarTopicos(PageRequest.of(0, 10, POR_FECHA));
+    }
+
+    @Benchmark
+    public Page<DatosListadoTopico> listarPaginaProfunda() {
+        return topicoService.listarTopicos(PageRequest.of(filas / 20, 10, POR_FECHA));
+    }
+
+    @Benchmark
+    public Page<DatosListadoTopico> buscarPorCursoYAnio() {
+        return topicoService.buscarTopicos("Curso 3", 2025, PageRequest.of(0, 10, POR_FECHA));
+    }
+
+    @Benchmark
+    public DatosPaginaCursor<DatosListadoTopico> cursorPaginaProfunda() {
+        return topicoService.buscarTopicosCursor(null, null, cursorIntermedio, 10);
+    }
+
+    @Benchmark
+    public DatosPaginaCursor<DatosListadoTopico> cursorPorCursoYAnio() {
+        return topicoService.buscarTopicosCursor("Curso 3", 2025, "", 10);
+    }
+
+    private void poblar(EntityManager em, TransactionTemplate transacciones) {
+        var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        long minutosPorTopico = Math.max(1, 3L * 365 * 24 * 60 / filas);
+        transacciones.executeWithoutResult(estado -> {
+            var autores = new Usuario[50];
+            for (int i = 0; i < autores.length; i++) {
+                autores[i] = Datos.usuario(null, "Autor " + i);
+                autores[i].setCorreoElectronico("autor" + i + "@forohub.com");
+                em.persist(autores[i]);
+            }
+            var cursos = new Curso[10];
+            for (int i = 0; i < cursos.length; i++) {
+                cursos[i] = Datos.curso(null, "Curso " + i);
+                em.persist(cursos[i]);
+            }
+            for (int i = 0; i < filas; i++) {
+                var topico = new Topico();
+                topico.setTitulo("Tópico " + i);
+                topico.setMensaje("Mensaje del tópico " + i);
+                topico.setAutor(autores[i % autores.length]);
+                topico.setCurso(cursos[i % cursos.length]);
+                topico.setFechaCreacion(inicio.plusMinutes(i * minutosPorTopico));
+                topico.setStatus(StatusTopico.ABIERTO);
+                em.persist(topico);
+                if (i % 500 == 0) {
+                    em.flush();
+                    em.clear();
+                    for (int j = 0; j < autores.length; j++) {
+                        autores[j] = em.getReference(Usuario.class, autores[j].getId());
+                    }
+                    for (int j = 0; j < cursos.length; j++) {
+                        cursos[j] = em.getReference(Curso.class, cursos[j].getId());
+                    }
+                }
+            }
+        });
+    }
+}
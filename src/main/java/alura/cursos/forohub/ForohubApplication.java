@@ -2,8 +2,10 @@ package alura.cursos.forohub;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ForohubApplication {
 
 	public static void main(String[] args) {
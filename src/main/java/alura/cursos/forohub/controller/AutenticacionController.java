@@ -3,45 +3,73 @@ package alura.cursos.forohub.controller;
 import alura.cursos.forohub.domain.usuario.DatosAutenticacionUsuario;
 import alura.cursos.forohub.domain.usuario.Usuario;
 import alura.cursos.forohub.infra.security.DatosTokenJWT;
+import alura.cursos.forohub.infra.security.RegistroRevocaciones;
 import alura.cursos.forohub.infra.security.TokenService;
+import alura.cursos.forohub.infra.security.UsuarioPrincipal;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
-@RequestMapping("/login")
 public class AutenticacionController {
 
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
+    private final RegistroRevocaciones registroRevocaciones;
+    private final ThreadPoolTaskExecutor ejecutorLogin;
 
-    public AutenticacionController(AuthenticationManager authenticationManager, TokenService tokenService) {
+    public AutenticacionController(AuthenticationManager authenticationManager,
+                                   TokenService tokenService,
+                                   RegistroRevocaciones registroRevocaciones,
+                                   @Qualifier("ejecutorLogin") ThreadPoolTaskExecutor ejecutorLogin) {
         this.authenticationManager = authenticationManager;
         this.tokenService = tokenService;
+        this.registroRevocaciones = registroRevocaciones;
+        this.ejecutorLogin = ejecutorLogin;
     }
 
     /**
      * Endpoint POST /login
-     * Autentica al usuario y retorna un token JWT
+     * Autentica al usuario y retorna un token JWT.
+     * El hash de la contraseña se calcula en el pool dedicado, liberando el hilo de Tomcat.
      *
      * @param datos Credenciales del usuario (correoElectronico, contrasena)
      * @return ResponseEntity con el token JWT
      */
-    @PostMapping
-    public ResponseEntity<DatosTokenJWT> autenticarUsuario(
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<DatosTokenJWT>> autenticarUsuario(
             @RequestBody @Valid DatosAutenticacionUsuario datos) {
 
         var authToken = new UsernamePasswordAuthenticationToken(
                 datos.correoElectronico(), datos.contrasena());
 
-        var usuarioAutenticado = authenticationManager.authenticate(authToken);
+        return CompletableFuture.supplyAsync(() -> {
+            var usuarioAutenticado = authenticationManager.authenticate(authToken);
+
+            var principal = (Usuario) usuarioAutenticado.getPrincipal();
 
-        var principal = (Usuario) usuarioAutenticado.getPrincipal();
+            var tokenJWT = tokenService.generarToken(principal);
 
-        var tokenJWT = tokenService.generarToken(principal);
+            return ResponseEntity.ok(new DatosTokenJWT(tokenJWT));
+        }, ejecutorLogin);
+    }
 
-        return ResponseEntity.ok(new DatosTokenJWT(tokenJWT));
+    /**
+     * Endpoint POST /logout
+     * Revoca todos los tokens emitidos hasta ahora para el usuario autenticado (en todos sus dispositivos).
+     *
+     * @return 204 No Content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> cerrarSesion(@AuthenticationPrincipal UsuarioPrincipal principal) {
+        registroRevocaciones.revocar(principal.id());
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,55 @@
+package alura.cursos.forohub.controller;
+
+import alura.cursos.forohub.domain.respuesta.RespuestaService;
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import alura.cursos.forohub.domain.respuesta.dto.DatosRegistroRespuesta;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@RestController
+@RequestMapping("/topicos/{topicoId}/respuestas")
+public class RespuestaController {
+
+    private final RespuestaService respuestaService;
+
+    public RespuestaController(RespuestaService respuestaService) {
+        this.respuestaService = respuestaService;
+    }
+
+    @PostMapping
+    public ResponseEntity<DatosListadoRespuesta> crearRespuesta(
+            @PathVariable Long topicoId,
+            @RequestBody @Valid DatosRegistroRespuesta datos,
+            UriComponentsBuilder uriBuilder) {
+
+        var respuesta = respuestaService.crearRespuesta(topicoId, datos);
+        var url = uriBuilder.path("/topicos/{topicoId}/respuestas/{id}")
+                .buildAndExpand(topicoId, respuesta.id()).toUri();
+        return ResponseEntity.created(url).body(respuesta);
+    }
+
+    @GetMapping
+    public ResponseEntity<DatosPaginaCursor<DatosListadoRespuesta>> listarRespuestas(
+            @PathVariable Long topicoId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(respuestaService.listarRespuestas(topicoId, after, size));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DatosListadoRespuesta> obtenerRespuesta(
+            @PathVariable Long topicoId,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(respuestaService.obtenerRespuesta(topicoId, id));
+    }
+
+    @PutMapping("/{id}/solucion")
+    public ResponseEntity<DatosListadoRespuesta> marcarSolucion(
+            @PathVariable Long topicoId,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(respuestaService.marcarSolucion(topicoId, id));
+    }
+}
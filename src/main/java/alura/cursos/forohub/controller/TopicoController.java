@@ -1,27 +1,86 @@
 package alura.cursos.forohub.controller;
 
+import alura.cursos.forohub.domain.topico.ContadorVistas;
+import alura.cursos.forohub.domain.topico.ImportacionTopicos;
 import alura.cursos.forohub.domain.topico.TopicoService;
 import alura.cursos.forohub.domain.topico.dto.DatosActualizacionTopico;
 import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
 import alura.cursos.forohub.domain.topico.dto.DatosRegistroTopico;
 import alura.cursos.forohub.domain.topico.dto.DatosRespuestaTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosResultadoLinea;
+import alura.cursos.forohub.domain.topico.dto.DatosResumenLote;
+import alura.cursos.forohub.domain.topico.dto.DatosTopicoPopular;
+import alura.cursos.forohub.infra.busqueda.IndiceTopicos;
+import alura.cursos.forohub.infra.security.UsuarioPrincipal;
+import alura.cursos.forohub.infra.stream.DifusorTopicos;
+import alura.cursos.forohub.infra.web.CacheRespuestas;
+import alura.cursos.forohub.infra.web.ClaveRespuesta;
+import alura.cursos.forohub.infra.web.CsvTopicos;
+import alura.cursos.forohub.infra.web.EtagTopicos;
+import alura.cursos.forohub.infra.web.RespuestaCacheada;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/topicos")
+// Tipos que se serializan con el ObjectMapper a mano (caché, export, lote): la imagen nativa no los ve en las firmas
+@RegisterReflectionForBinding({DatosListadoTopico.class, DatosRespuestaTopico.class, DatosResultadoLinea.class,
+        DatosResumenLote.class, PageImpl.class})
 public class TopicoController {
 
     private final TopicoService topicoService;
+    private final IndiceTopicos indiceTopicos;
+    private final DifusorTopicos difusorTopicos;
+    private final ImportacionTopicos importacionTopicos;
+    private final ContadorVistas contadorVistas;
+    private final CacheRespuestas cacheRespuestas;
+    private final ObjectMapper objectMapper;
 
-    public TopicoController(TopicoService topicoService) {
+    public TopicoController(TopicoService topicoService,
+                            IndiceTopicos indiceTopicos,
+                            DifusorTopicos difusorTopicos,
+                            ImportacionTopicos importacionTopicos,
+                            ContadorVistas contadorVistas,
+                            CacheRespuestas cacheRespuestas,
+                            ObjectMapper objectMapper) {
         this.topicoService = topicoService;
+        this.indiceTopicos = indiceTopicos;
+        this.difusorTopicos = difusorTopicos;
+        this.importacionTopicos = importacionTopicos;
+        this.contadorVistas = contadorVistas;
+        this.cacheRespuestas = cacheRespuestas;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -34,32 +93,169 @@ public class TopicoController {
         return ResponseEntity.created(url).body(topicoCreado);
     }
 
+    // Importación masiva: NDJSON de entrada, un resultado NDJSON por línea (enviado al confirmar cada bloque)
+    // y el resumen como última línea
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importarLote(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter salida = response.getWriter();
+
+        var resumen = importacionTopicos.importar(request.getReader(), resultados -> {
+            resultados.forEach(resultado -> salida.println(objectMapper.writeValueAsString(resultado)));
+            salida.flush();
+        });
+        salida.println(objectMapper.writeValueAsString(resumen));
+        salida.flush();
+    }
+
+    // Las primeras páginas con el orden por defecto se sirven ya serializadas desde CacheRespuestas
     @GetMapping
-    public ResponseEntity<Page<DatosListadoTopico>> listarTopicos(
+    public ResponseEntity<byte[]> listarTopicos(
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.ASC)
-            Pageable paginacion) {
-        return ResponseEntity.ok(topicoService.listarTopicos(paginacion));
+            Pageable paginacion,
+            WebRequest request) {
+        var clave = ClaveRespuesta.listado(null, null, paginacion, cacheRespuestas.paginasCacheables());
+        return condicional(request, cacheRespuestas.obtener(clave,
+                () -> serializar(topicoService.listarTopicos(paginacion))));
+    }
+
+    // Modo cursor: se activa con el parámetro "after" (vacío para la primera página)
+    @GetMapping(params = "after")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoTopico>> listarTopicosCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return EtagTopicos.condicional(request, topicoService.buscarTopicosCursor(null, null, after, size));
     }
 
     @GetMapping("/buscar")
-    public ResponseEntity<Page<DatosListadoTopico>> buscarTopicos(
+    public ResponseEntity<byte[]> buscarTopicos(
             @RequestParam(required = false) String curso,
             @RequestParam(required = false) Integer anio,
             @PageableDefault(size = 10, sort = "fechaCreacion", direction = Sort.Direction.ASC)
-            Pageable paginacion) {
-        return ResponseEntity.ok(topicoService.buscarTopicos(curso, anio, paginacion));
+            Pageable paginacion,
+            WebRequest request) {
+        var clave = ClaveRespuesta.listado(curso, anio, paginacion, cacheRespuestas.paginasCacheables());
+        return condicional(request, cacheRespuestas.obtener(clave,
+                () -> serializar(topicoService.buscarTopicos(curso, anio, paginacion))));
     }
 
+    // Búsqueda por palabras clave en título y mensaje, ordenada por relevancia (índice Lucene, sin MySQL);
+    // curso y anio filtran los resultados igual que en la búsqueda sin texto
+    @GetMapping(value = "/buscar", params = {"q", "!after"})
+    public ResponseEntity<Page<DatosListadoTopico>> buscarTopicosTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) Integer anio,
+            @PageableDefault(size = 10) Pageable paginacion,
+            WebRequest request) {
+        return condicional(request, indiceTopicos.buscar(q, curso, anio, paginacion));
+    }
+
+    @GetMapping(value = "/buscar", params = "after")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoTopico>> buscarTopicosCursor(
+            @RequestParam(required = false) String curso,
+            @RequestParam(required = false) Integer anio,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return EtagTopicos.condicional(request, topicoService.buscarTopicosCursor(curso, anio, after, size));
+    }
+
+    // Volcado completo en NDJSON o CSV, escrito bloque a bloque sobre la respuesta (gzip si el cliente lo acepta);
+    // la conexión a la base de datos solo se usa durante la consulta de cada bloque
+    @GetMapping("/export")
+    public void exportar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String aceptaCodificacion,
+            HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        boolean gzip = aceptaCodificacion != null && aceptaCodificacion.toLowerCase(Locale.ROOT).contains("gzip");
+
+        response.setContentType(csv ? "text/csv" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"topicos." + (csv ? "csv" : "ndjson") + "\"");
+        // El cuerpo depende de Accept-Encoding: una caché intermedia no debe servir la versión comprimida a otro cliente
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream cuerpo = gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream();
+        try (var salida = new BufferedWriter(new OutputStreamWriter(cuerpo, StandardCharsets.UTF_8), 64 * 1024)) {
+            if (csv) {
+                salida.write(CsvTopicos.ENCABEZADO);
+            }
+            topicoService.exportar(topico -> {
+                try {
+                    salida.write(csv ? CsvTopicos.fila(topico) : objectMapper.writeValueAsString(topico) + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    // Eventos de creación, edición, cambio de estado y eliminación en vivo (Server-Sent Events)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String curso,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoId) {
+        return difusorTopicos.suscribir(curso, ultimoId);
+    }
+
+    // Ranking de los más vistos con decaimiento temporal, servido desde memoria
+    @GetMapping("/populares")
+    public ResponseEntity<List<DatosTopicoPopular>> populares(@RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(contadorVistas.populares(size));
+    }
+
+    // Tópicos del usuario autenticado, del más reciente al más antiguo (mismo cursor que /usuarios/{id}/topicos)
+    @GetMapping("/mios")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoTopico>> listarMisTopicos(
+            @AuthenticationPrincipal UsuarioPrincipal principal,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return EtagTopicos.condicional(request, topicoService.listarTopicosDeAutor(principal.id(), after, size));
+    }
+
+    // Con la respuesta en caché, If-None-Match / If-Modified-Since se resuelven sin consultar la base de datos;
+    // sin ella (o con la caché deshabilitada), con la versión del tópico antes de cargarlo entero.
+    // Solo las lecturas completas cuentan como vista (las revalidaciones 304 no)
     @GetMapping("/{id}")
-    public ResponseEntity<DatosRespuestaTopico> obtenerTopico(@PathVariable Long id) {
-        return ResponseEntity.ok(topicoService.obtenerTopicoPorId(id));
+    public ResponseEntity<byte[]> obtenerTopico(@PathVariable Long id, WebRequest request) {
+        var clave = ClaveRespuesta.topico(id);
+        if (esCondicional(request) && !cacheRespuestas.cargada(clave)) {
+            var version = topicoService.obtenerVersion(id).orElse(null);
+            if (version != null && request.checkNotModified(
+                    EtagTopicos.fuerte(version), EtagTopicos.ultimaModificacion(version))) {
+                return null;
+            }
+        }
+        var respuesta = cacheRespuestas.obtener(clave, () -> {
+            var detalle = topicoService.obtenerDetalle(id);
+            var version = detalle.version();
+            return new RespuestaCacheada(objectMapper.writeValueAsBytes(detalle.topico()),
+                    version == null ? null : EtagTopicos.fuerte(version),
+                    version == null ? -1 : EtagTopicos.ultimaModificacion(version),
+                    Set.of(id), detalle.topico().titulo());
+        });
+        var resultado = condicional(request, respuesta);
+        if (resultado != null) {
+            contadorVistas.registrar(id, respuesta.titulo());
+        }
+        return resultado;
     }
 
+    // Con If-Match, una versión desactualizada responde 412; se compara en la misma transacción que guarda
     @PutMapping("/{id}")
     public ResponseEntity<DatosRespuestaTopico> actualizarTopico(
             @PathVariable Long id,
-            @RequestBody @Valid DatosActualizacionTopico datos) {
-        return ResponseEntity.ok(topicoService.actualizarTopico(id, datos));
+            @RequestBody @Valid DatosActualizacionTopico datos,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) List<String> ifMatch) {
+        return ResponseEntity.ok(topicoService.actualizarTopico(id, datos, EtagTopicos.versionesIfMatch(id, ifMatch)));
     }
 
     @DeleteMapping("/{id}")
@@ -67,4 +263,36 @@ public class TopicoController {
         topicoService.eliminarTopico(id);
         return ResponseEntity.noContent().build();
     }
+
+    private RespuestaCacheada serializar(Page<DatosListadoTopico> pagina) {
+        return new RespuestaCacheada(objectMapper.writeValueAsBytes(pagina), EtagTopicos.debil(pagina), -1,
+                pagina.getContent().stream().map(DatosListadoTopico::id).collect(Collectors.toUnmodifiableSet()), null);
+    }
+
+    private ResponseEntity<Page<DatosListadoTopico>> condicional(WebRequest request, Page<DatosListadoTopico> pagina) {
+        var etag = EtagTopicos.debil(pagina);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(pagina);
+    }
+
+    private static boolean esCondicional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private ResponseEntity<byte[]> condicional(WebRequest request, RespuestaCacheada respuesta) {
+        var respuestaOk = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (respuesta.etag() != null) {
+            if (request.checkNotModified(respuesta.etag(), respuesta.ultimaModificacion())) {
+                return null;
+            }
+            respuestaOk.cacheControl(CacheControl.noCache()).eTag(respuesta.etag());
+            if (respuesta.ultimaModificacion() >= 0) {
+                respuestaOk.lastModified(respuesta.ultimaModificacion());
+            }
+        }
+        return respuestaOk.body(respuesta.cuerpo());
+    }
 }
@@ -0,0 +1,30 @@
+package alura.cursos.forohub.controller;
+
+import alura.cursos.forohub.domain.topico.TopicoService;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import alura.cursos.forohub.infra.web.EtagTopicos;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/usuarios")
+public class UsuarioController {
+
+    private final TopicoService topicoService;
+
+    public UsuarioController(TopicoService topicoService) {
+        this.topicoService = topicoService;
+    }
+
+    // Tópicos de un autor, del más reciente al más antiguo, con paginación por cursor ("after" vacío u omitido al inicio)
+    @GetMapping("/{id}/topicos")
+    public ResponseEntity<DatosPaginaCursor<DatosListadoTopico>> listarTopicos(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        return EtagTopicos.condicional(request, topicoService.listarTopicosDeAutor(id, after, size));
+    }
+}
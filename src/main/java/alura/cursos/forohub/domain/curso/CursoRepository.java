@@ -1,15 +1,29 @@
 package alura.cursos.forohub.domain.curso;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CursoRepository extends JpaRepository<Curso, Long> {
+public interface CursoRepository extends JpaRepository<Curso, Long>, CursoRepositoryCustom {
 
     Optional<Curso> findByNombre(String nombre);
 
+    // Solo el id, para filtrar tópicos por curso: en un fallo una consulta por el índice único sin cargar la
+    // entidad; después, caché de consultas (se invalida sola con cualquier escritura en curso)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c.id FROM Curso c WHERE c.nombre = :nombre")
+    Optional<Long> buscarIdPorNombre(@Param("nombre") String nombre);
+
     boolean existsByNombre(String nombre);
-}
 
+    List<Curso> findByNombreIn(Collection<String> nombres);
+}
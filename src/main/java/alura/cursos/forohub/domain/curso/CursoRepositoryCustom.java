@@ -0,0 +1,12 @@
+package alura.cursos.forohub.domain.curso;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface CursoRepositoryCustom {
+
+    // Búsqueda por id natural (nombre), servida desde la caché de segundo nivel
+    @Transactional(readOnly = true)
+    Optional<Curso> buscarPorNombre(String nombre);
+}
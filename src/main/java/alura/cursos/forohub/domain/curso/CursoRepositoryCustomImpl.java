@@ -0,0 +1,20 @@
+package alura.cursos.forohub.domain.curso;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class CursoRepositoryCustomImpl implements CursoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public Optional<Curso> buscarPorNombre(String nombre) {
+        return em.unwrap(Session.class)
+                .bySimpleNaturalId(Curso.class)
+                .loadOptional(nombre);
+    }
+}
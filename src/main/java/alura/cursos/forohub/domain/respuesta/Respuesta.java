@@ -8,7 +8,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "respuesta")
+@Table(name = "respuesta", indexes = {
+        @Index(name = "idx_respuesta_topico_fecha_creacion", columnList = "topico_id, fecha_creacion")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,42 @@
+package alura.cursos.forohub.domain.respuesta;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta de un tópico archivado (respuesta_archivo). Solo la escribe ArchivoTopicos con SQL
+ * por lotes, junto con su tópico.
+ */
+@Entity
+@Immutable
+@Table(name = "respuesta_archivo", indexes = {
+        @Index(name = "idx_respuesta_archivo_topico_fecha_creacion", columnList = "topico_id, fecha_creacion")
+})
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class RespuestaArchivada {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String mensaje;
+
+    @Column(name = "topico_id", nullable = false)
+    private Long topicoId;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "autor_id", nullable = false)
+    private Long autorId;
+
+    @Column(nullable = false)
+    private Boolean solucion;
+}
@@ -0,0 +1,37 @@
+package alura.cursos.forohub.domain.respuesta;
+
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RespuestaArchivadaRepository extends JpaRepository<RespuestaArchivada, Long> {
+
+    // Igual que RespuestaRepository.listarDespuesDe, sobre respuesta_archivo (índice topico_id, fecha_creacion)
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta(
+                r.id, r.mensaje, r.fechaCreacion, r.solucion, a.id, a.nombre)
+            FROM RespuestaArchivada r JOIN Usuario a ON a.id = r.autorId
+            WHERE r.topicoId = :topicoId
+              AND (r.fechaCreacion > :fecha OR (r.fechaCreacion = :fecha AND r.id > :id))
+            ORDER BY r.fechaCreacion, r.id
+            """)
+    List<DatosListadoRespuesta> listarDespuesDe(@Param("topicoId") Long topicoId,
+                                                @Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                                Limit limit);
+
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta(
+                r.id, r.mensaje, r.fechaCreacion, r.solucion, a.id, a.nombre)
+            FROM RespuestaArchivada r JOIN Usuario a ON a.id = r.autorId
+            WHERE r.id = :id AND r.topicoId = :topicoId
+            """)
+    Optional<DatosListadoRespuesta> buscarDatos(@Param("id") Long id, @Param("topicoId") Long topicoId);
+}
@@ -1,13 +1,48 @@
 package alura.cursos.forohub.domain.respuesta;
 
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RespuestaRepository extends JpaRepository<Respuesta, Long> {
 
-    long countByTopicoId(Long topicoId);
+    // Respuestas de un tópico posteriores a (fecha, id), por índice (topico_id, fecha_creacion)
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta(
+                r.id, r.mensaje, r.fechaCreacion, r.solucion, a.id, a.nombre)
+            FROM Respuesta r JOIN r.autor a
+            WHERE r.topico.id = :topicoId
+              AND (r.fechaCreacion > :fecha OR (r.fechaCreacion = :fecha AND r.id > :id))
+            ORDER BY r.fechaCreacion, r.id
+            """)
+    List<DatosListadoRespuesta> listarDespuesDe(@Param("topicoId") Long topicoId,
+                                                @Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                                Limit limit);
 
-    boolean existsByTopicoId(Long topicoId);
-}
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta(
+                r.id, r.mensaje, r.fechaCreacion, r.solucion, a.id, a.nombre)
+            FROM Respuesta r JOIN r.autor a
+            WHERE r.id = :id AND r.topico.id = :topicoId
+            """)
+    Optional<DatosListadoRespuesta> buscarDatos(@Param("id") Long id, @Param("topicoId") Long topicoId);
 
+    Optional<Respuesta> findByIdAndTopicoId(Long id, Long topicoId);
+
+    // Quita la marca de solución al resto de respuestas del tópico: solo puede haber una
+    @Modifying
+    @Query("""
+            UPDATE Respuesta r SET r.solucion = false
+            WHERE r.topico.id = :topicoId AND r.solucion = true AND r.id <> :id
+            """)
+    int desmarcarSoluciones(@Param("topicoId") Long topicoId, @Param("id") Long id);
+}
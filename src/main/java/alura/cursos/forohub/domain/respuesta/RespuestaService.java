@@ -0,0 +1,151 @@
+package alura.cursos.forohub.domain.respuesta;
+
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import alura.cursos.forohub.domain.respuesta.dto.DatosRegistroRespuesta;
+import alura.cursos.forohub.domain.topico.CursorPaginacion;
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.TopicoArchivadoRepository;
+import alura.cursos.forohub.domain.topico.TopicoRepository;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import alura.cursos.forohub.infra.errores.ValidacionException;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class RespuestaService {
+
+    private static final int TAMANIO_MAXIMO = 100;
+
+    private final RespuestaRepository respuestaRepository;
+    private final RespuestaArchivadaRepository respuestaArchivadaRepository;
+    private final TopicoRepository topicoRepository;
+    private final TopicoArchivadoRepository topicoArchivadoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RespuestaService(RespuestaRepository respuestaRepository,
+                            RespuestaArchivadaRepository respuestaArchivadaRepository,
+                            TopicoRepository topicoRepository,
+                            TopicoArchivadoRepository topicoArchivadoRepository,
+                            UsuarioRepository usuarioRepository,
+                            ApplicationEventPublisher eventPublisher) {
+        this.respuestaRepository = respuestaRepository;
+        this.respuestaArchivadaRepository = respuestaArchivadaRepository;
+        this.topicoRepository = topicoRepository;
+        this.topicoArchivadoRepository = topicoArchivadoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public DatosListadoRespuesta crearRespuesta(Long topicoId, DatosRegistroRespuesta datos) {
+        var topico = topicoRepository.findById(topicoId).orElse(null);
+        if (topico == null) {
+            comprobarNoArchivado(topicoId, "No se puede responder un tópico archivado");
+            throw noEncontrado(topicoId);
+        }
+        if (topico.getStatus() == StatusTopico.CERRADO) {
+            throw new ValidacionException("No se puede responder un tópico cerrado");
+        }
+
+        var autor = usuarioRepository.findById(datos.autorId())
+                .orElseThrow(() -> new ValidacionException("El autor con ID " + datos.autorId() + " no existe"));
+
+        var respuesta = new Respuesta();
+        respuesta.setMensaje(datos.mensaje());
+        respuesta.setTopico(topico);
+        respuesta.setAutor(autor);
+        respuesta.setFechaCreacion(LocalDateTime.now());
+        respuesta.setSolucion(false);
+
+        var guardada = respuestaRepository.save(respuesta);
+        topicoRepository.incrementarTotalRespuestas(topicoId, LocalDateTime.now());
+        // El UPDATE masivo no toca la entidad cargada: el evento lleva el contador y la versión ya incrementados
+        eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.ACTUALIZADO, topicoId,
+                new DatosListadoTopico(topico).conRespuestaNueva()));
+        return new DatosListadoRespuesta(guardada);
+    }
+
+    // Las respuestas de un tópico archivado (ArchivoTopicos) se leen de respuesta_archivo
+    @Transactional(readOnly = true)
+    public DatosPaginaCursor<DatosListadoRespuesta> listarRespuestas(Long topicoId, String after, int size) {
+        int tamanio = Math.clamp(size, 1, TAMANIO_MAXIMO);
+        var posicion = CursorPaginacion.desde(after);
+
+        // Se pide un elemento extra para saber si hay siguiente página sin COUNT(*)
+        List<DatosListadoRespuesta> respuestas;
+        if (topicoRepository.existsById(topicoId)) {
+            respuestas = respuestaRepository.listarDespuesDe(
+                    topicoId, posicion.fechaCreacion(), posicion.id(), Limit.of(tamanio + 1));
+        } else if (topicoArchivadoRepository.existsById(topicoId)) {
+            respuestas = respuestaArchivadaRepository.listarDespuesDe(
+                    topicoId, posicion.fechaCreacion(), posicion.id(), Limit.of(tamanio + 1));
+        } else {
+            throw noEncontrado(topicoId);
+        }
+
+        return DatosPaginaCursor.desde(respuestas, tamanio,
+                ultima -> new CursorPaginacion(ultima.fechaCreacion(), ultima.id()).codificar());
+    }
+
+    // Destino del Location de crearRespuesta; una respuesta de un tópico archivado se lee de respuesta_archivo
+    @Transactional(readOnly = true)
+    public DatosListadoRespuesta obtenerRespuesta(Long topicoId, Long respuestaId) {
+        return respuestaRepository.buscarDatos(respuestaId, topicoId)
+                .or(() -> respuestaArchivadaRepository.buscarDatos(respuestaId, topicoId))
+                .orElseThrow(() -> respuestaNoEncontrada(topicoId, respuestaId));
+    }
+
+    /**
+     * Marca la respuesta como solución (la única del tópico) y el tópico como RESUELTO. Un tópico cerrado no
+     * admite cambios, igual que no admite respuestas nuevas.
+     */
+    @Transactional
+    public DatosListadoRespuesta marcarSolucion(Long topicoId, Long respuestaId) {
+        var respuesta = respuestaRepository.findByIdAndTopicoId(respuestaId, topicoId).orElse(null);
+        if (respuesta == null) {
+            comprobarNoArchivado(topicoId, "No se puede marcar la solución de un tópico archivado");
+            throw respuestaNoEncontrada(topicoId, respuestaId);
+        }
+
+        var topico = respuesta.getTopico();
+        if (topico.getStatus() == StatusTopico.CERRADO) {
+            throw new ValidacionException("No se puede marcar la solución de un tópico cerrado");
+        }
+
+        respuestaRepository.desmarcarSoluciones(topicoId, respuestaId);
+        respuesta.setSolucion(true);
+        topico.setStatus(StatusTopico.RESUELTO);
+        // El flush incrementa la versión del tópico: el evento debe llevar la ya guardada, no la anterior
+        topicoRepository.saveAndFlush(topico);
+        eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.CAMBIO_ESTADO, topicoId,
+                new DatosListadoTopico(topico)));
+
+        return new DatosListadoRespuesta(respuesta);
+    }
+
+    // Un tópico archivado sigue existiendo (solo lectura, y siempre CERRADO): no es un 404
+    private void comprobarNoArchivado(Long topicoId, String mensaje) {
+        if (topicoArchivadoRepository.existsById(topicoId)) {
+            throw new ValidacionException(mensaje);
+        }
+    }
+
+    private static EntityNotFoundException noEncontrado(Long topicoId) {
+        return new EntityNotFoundException("Tópico con ID " + topicoId + " no encontrado");
+    }
+
+    private static EntityNotFoundException respuestaNoEncontrada(Long topicoId, Long respuestaId) {
+        return new EntityNotFoundException("Respuesta con ID " + respuestaId + " no encontrada en el tópico " + topicoId);
+    }
+}
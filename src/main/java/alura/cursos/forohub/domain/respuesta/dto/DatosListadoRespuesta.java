@@ -0,0 +1,25 @@
+package alura.cursos.forohub.domain.respuesta.dto;
+
+import alura.cursos.forohub.domain.respuesta.Respuesta;
+
+import java.time.LocalDateTime;
+
+public record DatosListadoRespuesta(
+        Long id,
+        String mensaje,
+        LocalDateTime fechaCreacion,
+        Boolean solucion,
+        Long autorId,
+        String autorNombre
+) {
+    public DatosListadoRespuesta(Respuesta respuesta) {
+        this(
+                respuesta.getId(),
+                respuesta.getMensaje(),
+                respuesta.getFechaCreacion(),
+                respuesta.getSolucion(),
+                respuesta.getAutor().getId(),
+                respuesta.getAutor().getNombre()
+        );
+    }
+}
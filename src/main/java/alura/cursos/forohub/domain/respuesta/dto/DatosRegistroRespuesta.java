@@ -0,0 +1,13 @@
+package alura.cursos.forohub.domain.respuesta.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record DatosRegistroRespuesta(
+        @NotBlank(message = "El mensaje es obligatorio")
+        String mensaje,
+
+        @NotNull(message = "El ID del autor es obligatorio")
+        Long autorId
+) {
+}
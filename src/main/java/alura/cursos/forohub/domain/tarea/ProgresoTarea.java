@@ -0,0 +1,29 @@
+package alura.cursos.forohub.domain.tarea;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cursor de una tarea por lotes: el último id procesado, guardado en la misma transacción que cada lote.
+ */
+@Entity
+@Table(name = "progreso_tarea")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "nombre")
+public class ProgresoTarea {
+
+    @Id
+    @Column(length = 100)
+    private String nombre;
+
+    @Column(name = "ultimo_id", nullable = false)
+    private Long ultimoId;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,8 @@
+package alura.cursos.forohub.domain.tarea;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProgresoTareaRepository extends JpaRepository<ProgresoTarea, String> {
+}
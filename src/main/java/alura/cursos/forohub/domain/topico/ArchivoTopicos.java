@@ -0,0 +1,122 @@
+package alura.cursos.forohub.domain.topico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Archivado de tópicos: los CERRADO creados hace más de {@code forohub.archivo.antiguedad} pasan,
+ * con sus respuestas, a topico_archivo y respuesta_archivo en lotes de {@code forohub.archivo.lote}.
+ * <p>
+ * Cada lote es una transacción corta: bloquea los candidatos con SELECT ... FOR UPDATE (una edición
+ * concurrente que reabra el tópico espera y termina en conflicto de versión), copia las filas con
+ * INSERT ... SELECT y las borra. Los tópicos archivados salen de los listados y de la búsqueda;
+ * GET /topicos/{id} los sigue sirviendo desde el archivo.
+ */
+@Component
+public class ArchivoTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivoTopicos.class);
+
+    private static final String CANDIDATOS = """
+            SELECT id FROM topico
+            WHERE status = 'CERRADO' AND fecha_creacion < :corte
+            ORDER BY fecha_creacion, id
+            LIMIT :lote
+            FOR UPDATE
+            """;
+    private static final String COPIAR_TOPICOS = """
+            INSERT INTO topico_archivo (id, titulo, mensaje, fecha_creacion, status, autor_id, curso_id,
+                hash_contenido, total_respuestas, version, fecha_actualizacion, vistas, fecha_archivo)
+            SELECT id, titulo, mensaje, fecha_creacion, status, autor_id, curso_id,
+                hash_contenido, total_respuestas, version, fecha_actualizacion, vistas, :ahora
+            FROM topico WHERE id IN (:ids)
+            """;
+    private static final String COPIAR_RESPUESTAS = """
+            INSERT INTO respuesta_archivo (id, mensaje, topico_id, fecha_creacion, autor_id, solucion)
+            SELECT id, mensaje, topico_id, fecha_creacion, autor_id, solucion
+            FROM respuesta WHERE topico_id IN (:ids)
+            """;
+    private static final String BORRAR_RESPUESTAS = "DELETE FROM respuesta WHERE topico_id IN (:ids)";
+    private static final String BORRAR_TOPICOS = "DELETE FROM topico WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean habilitado;
+    private final Duration antiguedad;
+    private final int tamanioLote;
+    private final LongAdder archivados = new LongAdder();
+
+    public ArchivoTopicos(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${forohub.archivo.habilitado:true}") boolean habilitado,
+                          @Value("${forohub.archivo.antiguedad:365d}") Duration antiguedad,
+                          @Value("${forohub.archivo.lote:500}") int tamanioLote) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.habilitado = habilitado;
+        this.antiguedad = antiguedad;
+        this.tamanioLote = tamanioLote;
+    }
+
+    @Scheduled(cron = "${forohub.archivo.cron:0 30 3 * * *}")
+    public void archivarProgramado() {
+        if (habilitado) {
+            var total = archivar(LocalDateTime.now().minus(antiguedad));
+            if (total > 0) {
+                log.info("Archivados {} tópicos cerrados creados antes de hace {}", total, antiguedad);
+            }
+        }
+    }
+
+    /**
+     * Archiva por lotes todos los tópicos cerrados creados antes de {@code corte}.
+     *
+     * @return tópicos archivados
+     */
+    public long archivar(LocalDateTime corte) {
+        long total = 0;
+        int movidos;
+        do {
+            movidos = transactionTemplate.execute(estado -> archivarLote(corte));
+            total += movidos;
+        } while (movidos == tamanioLote);
+        return total;
+    }
+
+    public long archivados() {
+        return archivados.sum();
+    }
+
+    private int archivarLote(LocalDateTime corte) {
+        List<Long> ids = jdbc.queryForList(CANDIDATOS,
+                new MapSqlParameterSource("corte", corte).addValue("lote", tamanioLote), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var parametros = new MapSqlParameterSource("ids", ids).addValue("ahora", LocalDateTime.now());
+        jdbc.update(COPIAR_TOPICOS, parametros);
+        jdbc.update(COPIAR_RESPUESTAS, parametros);
+        jdbc.update(BORRAR_RESPUESTAS, parametros);
+        jdbc.update(BORRAR_TOPICOS, parametros);
+
+        ids.forEach(id -> eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.ARCHIVADO, id, null)));
+        archivados.add(ids.size());
+        return ids.size();
+    }
+}
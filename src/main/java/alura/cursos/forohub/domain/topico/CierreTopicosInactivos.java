@@ -0,0 +1,151 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.tarea.ProgresoTarea;
+import alura.cursos.forohub.domain.tarea.ProgresoTareaRepository;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cierre de tópicos ABIERTO sin actividad (ni ediciones ni respuestas) desde hace {@code forohub.cierre.inactividad}.
+ * <p>
+ * Recorre topico por rangos de {@code forohub.cierre.lote} ids hasta el mayor id al empezar (los tópicos creados
+ * después no están inactivos): cada lote es una transacción corta con una búsqueda de candidatos en el rango, un
+ * único UPDATE ... WHERE id IN (...) y el guardado del fin del rango en progreso_tarea, seguida de una pausa de
+ * {@code forohub.cierre.pausa} para no competir con las escrituras de los usuarios. Acotar por rango y no por número
+ * de candidatos hace que cada lote lea como mucho {@code lote} filas aunque casi ningún tópico esté inactivo. Si la
+ * aplicación se detiene a mitad de recorrido, la siguiente ejecución continúa desde ese id.
+ */
+@Component
+public class CierreTopicosInactivos {
+
+    static final String TAREA = "cierre-topicos-inactivos";
+
+    private static final Logger log = LoggerFactory.getLogger(CierreTopicosInactivos.class);
+
+    private final TopicoRepository topicoRepository;
+    private final ProgresoTareaRepository progresoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean habilitado;
+    private final Duration inactividad;
+    private final int tamanioLote;
+    private final Duration pausa;
+
+    private final LongAdder cerrados = new LongAdder();
+    private volatile long ultimoId;
+    private volatile double filasPorSegundo;
+    private volatile boolean detenido;
+
+    public CierreTopicosInactivos(TopicoRepository topicoRepository,
+                                  ProgresoTareaRepository progresoRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${forohub.cierre.habilitado:true}") boolean habilitado,
+                                  @Value("${forohub.cierre.inactividad:90d}") Duration inactividad,
+                                  @Value("${forohub.cierre.lote:1000}") int tamanioLote,
+                                  @Value("${forohub.cierre.pausa:100ms}") Duration pausa) {
+        this.topicoRepository = topicoRepository;
+        this.progresoRepository = progresoRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.habilitado = habilitado;
+        this.inactividad = inactividad;
+        this.tamanioLote = tamanioLote;
+        this.pausa = pausa;
+    }
+
+    @Scheduled(cron = "${forohub.cierre.cron:0 0 4 * * *}")
+    public void cerrarProgramado() throws InterruptedException {
+        if (habilitado) {
+            var total = cerrar(LocalDateTime.now().minus(inactividad));
+            if (total > 0) {
+                log.info("Cerrados {} tópicos sin actividad desde hace {} ({} filas/s)", total, inactividad,
+                        Math.round(filasPorSegundo));
+            }
+        }
+    }
+
+    /**
+     * Cierra los tópicos abiertos sin actividad desde {@code corte}, continuando desde el último id guardado.
+     * Al llegar al final del recorrido el progreso vuelve a 0.
+     *
+     * @return tópicos cerrados en esta ejecución
+     */
+    public long cerrar(LocalDateTime corte) throws InterruptedException {
+        long desde = progresoRepository.findById(TAREA).map(ProgresoTarea::getUltimoId).orElse(0L);
+        long maximo = topicoRepository.buscarMaximoId().orElse(0L);
+        long total = 0;
+        long inicio = System.nanoTime();
+        while (!detenido) {
+            if (desde >= maximo) {
+                transactionTemplate.executeWithoutResult(estado -> guardarProgreso(0));
+                ultimoId = 0;
+                break;
+            }
+            var inicioLote = desde;
+            var hasta = Math.min(desde + tamanioLote, maximo);
+            var cerradosLote = transactionTemplate.execute(estado -> cerrarLote(inicioLote, hasta, corte));
+            cerrados.add(cerradosLote);
+            total += cerradosLote;
+            filasPorSegundo = total * 1e9 / Math.max(1, System.nanoTime() - inicio);
+            desde = hasta;
+            ultimoId = desde;
+            if (desde < maximo) {
+                Thread.sleep(pausa);
+            }
+        }
+        return total;
+    }
+
+    private int cerrarLote(long desde, long hasta, LocalDateTime corte) {
+        var ids = topicoRepository.buscarInactivosEntre(desde, hasta, corte);
+        guardarProgreso(hasta);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        var filas = topicoRepository.cerrarInactivos(ids, corte, LocalDateTime.now());
+        if (filas > 0) {
+            topicoRepository.listarPorIds(ids).stream()
+                    .filter(datos -> datos.status() == StatusTopico.CERRADO)
+                    .forEach(this::publicarCierre);
+        }
+        return filas;
+    }
+
+    private void publicarCierre(DatosListadoTopico datos) {
+        eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.CAMBIO_ESTADO, datos.id(), datos));
+    }
+
+    private void guardarProgreso(long id) {
+        progresoRepository.save(new ProgresoTarea(TAREA, id, LocalDateTime.now()));
+    }
+
+    // Termina el lote en curso y deja el progreso guardado para la próxima ejecución
+    @PreDestroy
+    public void detener() {
+        detenido = true;
+    }
+
+    public long cerrados() {
+        return cerrados.sum();
+    }
+
+    public long ultimoId() {
+        return ultimoId;
+    }
+
+    public double filasPorSegundo() {
+        return filasPorSegundo;
+    }
+}
@@ -0,0 +1,152 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.topico.dto.DatosTopicoPopular;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vistas de tópicos con escritura diferida (write-behind).
+ * <p>
+ * GET /topicos/{id} solo incrementa un LongAdder en memoria (sin contención entre hilos ni bloqueos
+ * de fila). Cada {@code forohub.vistas.intervalo} las vistas acumuladas se suman a
+ * {@code topico.vistas} con un único lote de UPDATE ordenado por id, y alimentan el ranking de
+ * populares. Si la base de datos falla, las vistas se reintentan en el siguiente volcado.
+ * <p>
+ * El conteo es aproximado: se pierden las vistas aún no volcadas si el proceso termina de forma
+ * abrupta, y el ranking refleja solo las vistas servidas por este nodo.
+ */
+@Component
+public class ContadorVistas {
+
+    private static final Logger log = LoggerFactory.getLogger(ContadorVistas.class);
+    private static final String SUMAR_VISTAS = "UPDATE topico SET vistas = vistas + ? WHERE id = ?";
+
+    private final ConcurrentHashMap<Long, Pendiente> pendientes = new ConcurrentHashMap<>();
+    // Solo lo usa el hilo del volcado: vistas cuyo UPDATE falló, ya contadas en el ranking
+    private final Map<Long, Long> sinVolcar = new HashMap<>();
+    private final RankingPopulares ranking;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanioLote;
+
+    public ContadorVistas(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${forohub.vistas.lote:500}") int tamanioLote,
+                          @Value("${forohub.vistas.vida-media:1h}") Duration vidaMedia,
+                          @Value("${forohub.vistas.max-populares:100}") int maxPopulares) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanioLote = tamanioLote;
+        this.ranking = new RankingPopulares(vidaMedia, maxPopulares, System.nanoTime());
+    }
+
+    public void registrar(Long topicoId, String titulo) {
+        sumar(entrada(topicoId), topicoId, titulo, 1);
+    }
+
+    Pendiente entrada(Long topicoId) {
+        var pendiente = pendientes.get(topicoId);
+        return pendiente != null ? pendiente : pendientes.computeIfAbsent(topicoId, id -> new Pendiente());
+    }
+
+    // Si el volcado liberó la entrada mientras se escribía en ella, las vistas que no alcanzó a recoger
+    // (sumThenReset toma cada incremento una sola vez) pasan a la entrada nueva
+    void sumar(Pendiente pendiente, Long topicoId, String titulo, long cantidad) {
+        while (true) {
+            pendiente.titulo = titulo;
+            pendiente.vistas.add(cantidad);
+            if (pendientes.get(topicoId) == pendiente) {
+                return;
+            }
+            cantidad = pendiente.vistas.sumThenReset();
+            if (cantidad == 0) {
+                return;
+            }
+            pendiente = entrada(topicoId);
+        }
+    }
+
+    public List<DatosTopicoPopular> populares(int cantidad) {
+        return ranking.top(cantidad);
+    }
+
+    @Scheduled(fixedDelayString = "${forohub.vistas.intervalo:10s}")
+    @PreDestroy
+    public synchronized void volcar() {
+        var vistas = new TreeMap<Long, Long>();
+        var titulos = new HashMap<Long, String>();
+        pendientes.forEach((id, pendiente) -> {
+            long cantidad = pendiente.vistas.sumThenReset();
+            if (cantidad == 0 && pendientes.remove(id, pendiente)) {
+                // Sin vistas desde el volcado anterior: se libera la entrada y se recogen las que llegaron
+                // mientras tanto; las posteriores las mueve registrar a una entrada nueva
+                cantidad = pendiente.vistas.sumThenReset();
+            }
+            if (cantidad > 0) {
+                vistas.put(id, cantidad);
+                titulos.put(id, pendiente.titulo);
+            }
+        });
+        ranking.acumular(vistas, titulos, System.nanoTime());
+
+        sinVolcar.forEach((id, cantidad) -> vistas.merge(id, cantidad, Long::sum));
+        sinVolcar.clear();
+        if (vistas.isEmpty()) {
+            return;
+        }
+        try {
+            // Orden por id: los nodos bloquean las filas en el mismo orden y no se interbloquean
+            var filas = List.copyOf(vistas.entrySet());
+            transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(SUMAR_VISTAS, filas, tamanioLote,
+                    (sentencia, fila) -> {
+                        sentencia.setLong(1, fila.getValue());
+                        sentencia.setLong(2, fila.getKey());
+                    }));
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron volcar las vistas de {} tópicos; se reintentará", vistas.size(), e);
+            sinVolcar.putAll(vistas);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarTopico(EventoTopico evento) {
+        switch (evento.tipo()) {
+            case ELIMINADO, ARCHIVADO -> {
+                pendientes.remove(evento.topicoId());
+                ranking.eliminar(evento.topicoId());
+            }
+            case ACTUALIZADO, CAMBIO_ESTADO -> ranking.renombrar(evento.topicoId(), evento.datos().titulo());
+            case CREADO -> { }
+        }
+    }
+
+    public int pendientes() {
+        return pendientes.size();
+    }
+
+    public int seguidosEnRanking() {
+        return ranking.seguidos();
+    }
+
+    static final class Pendiente {
+        private final LongAdder vistas = new LongAdder();
+        private volatile String titulo;
+    }
+}
@@ -0,0 +1,58 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.infra.errores.ValidacionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de la paginación por cursor (tópicos, respuestas): último (fechaCreacion, id) entregado.
+ * Se expone al cliente como un token opaco en Base64 URL-safe.
+ */
+public record CursorPaginacion(LocalDateTime fechaCreacion, Long id) {
+
+    // Límites del rango DATETIME de MySQL, usados como cotas abiertas en búsquedas por rango y cursor
+    public static final LocalDateTime FECHA_MINIMA = LocalDateTime.of(1000, 1, 1, 0, 0);
+    public static final LocalDateTime FECHA_MAXIMA = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Posición de partida: el token recibido o, si viene vacío, antes del primer elemento.
+     */
+    public static CursorPaginacion desde(String after) {
+        return (after == null || after.isBlank())
+                ? new CursorPaginacion(FECHA_MINIMA, 0L)
+                : decodificar(after);
+    }
+
+    /**
+     * Igual que {@link #desde(String)} para los listados del más reciente al más antiguo: sin token,
+     * la posición está después del último elemento.
+     */
+    public static CursorPaginacion desdeElFinal(String after) {
+        return (after == null || after.isBlank())
+                ? new CursorPaginacion(FECHA_MAXIMA, Long.MAX_VALUE)
+                : decodificar(after);
+    }
+
+    public String codificar() {
+        String valor = fechaCreacion + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorPaginacion decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            return new CursorPaginacion(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidacionException("El cursor 'after' no es válido");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package alura.cursos.forohub.domain.topico;
+
+public enum EstadoLineaLote {
+    CREADO,
+    DUPLICADO,
+    ERROR
+}
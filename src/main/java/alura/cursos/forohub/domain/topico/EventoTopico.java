@@ -0,0 +1,14 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+
+/**
+ * Evento de dominio publicado por TopicoService. Los interesados lo reciben después del commit
+ * (@TransactionalEventListener). {@code datos} es null cuando el tópico fue eliminado o archivado.
+ */
+public record EventoTopico(
+        TipoEventoTopico tipo,
+        Long topicoId,
+        DatosListadoTopico datos
+) {
+}
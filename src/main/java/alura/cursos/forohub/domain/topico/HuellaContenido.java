@@ -0,0 +1,37 @@
+package alura.cursos.forohub.domain.topico;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Calcula la huella SHA-256 del contenido de un tópico (título + mensaje normalizados).
+ * Debe coincidir con el backfill de la migración V8.
+ */
+public final class HuellaContenido {
+
+    private static final char SEPARADOR = '\u0000';
+    // Igual que TRIM() de MySQL: solo espacios al inicio y al final
+    private static final Pattern ESPACIOS_EXTREMOS = Pattern.compile("^ +| +$");
+
+    private HuellaContenido() {
+    }
+
+    public static String calcular(String titulo, String mensaje) {
+        String contenido = normalizar(titulo) + SEPARADOR + normalizar(mensaje);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(contenido.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 no disponible", exception);
+        }
+    }
+
+    private static String normalizar(String texto) {
+        return texto == null ? "" : ESPACIOS_EXTREMOS.matcher(texto).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,216 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.curso.CursoRepository;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosRegistroTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosResultadoLinea;
+import alura.cursos.forohub.domain.topico.dto.DatosResumenLote;
+import alura.cursos.forohub.domain.usuario.DatosNombreUsuario;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importación masiva de tópicos desde NDJSON (un DatosRegistroTopico por línea).
+ * <p>
+ * La entrada se procesa en bloques de {@code forohub.lote.tamanio} líneas, cada uno en su propia
+ * transacción: una consulta para los hashes ya existentes, una para los autores, una para los
+ * cursos que aún no se conocen y los INSERT agrupados en lotes JDBC. Los resultados de cada bloque
+ * se entregan al terminar su commit, de modo que la memoria no depende del tamaño de la entrada.
+ */
+@Service
+@RegisterReflectionForBinding(DatosRegistroTopico.class)
+public class ImportacionTopicos {
+
+    private final CursoRepository cursoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TopicoRepository topicoRepository;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int tamanioBloque;
+
+    public ImportacionTopicos(CursoRepository cursoRepository,
+                              UsuarioRepository usuarioRepository,
+                              TopicoRepository topicoRepository,
+                              EntityManager em,
+                              TransactionTemplate transactionTemplate,
+                              ObjectMapper objectMapper,
+                              Validator validator,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${forohub.lote.tamanio:500}") int tamanioBloque) {
+        this.cursoRepository = cursoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.topicoRepository = topicoRepository;
+        this.em = em;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.tamanioBloque = tamanioBloque;
+    }
+
+    public DatosResumenLote importar(BufferedReader entrada, Consumer<List<DatosResultadoLinea>> salida) throws IOException {
+        // Los cursos son pocos: se recuerdan durante toda la importación. Los autores se resuelven por bloque
+        var cursos = new HashMap<String, Curso>();
+        var bloque = new ArrayList<LineaLote>(tamanioBloque);
+        long numero = 0, creados = 0, duplicados = 0, errores = 0;
+
+        String linea;
+        while (true) {
+            linea = entrada.readLine();
+            if (linea != null) {
+                numero++;
+                if (!linea.isBlank()) {
+                    bloque.add(interpretar(numero, linea));
+                }
+            }
+            if (bloque.size() == tamanioBloque || (linea == null && !bloque.isEmpty())) {
+                var resultados = procesarBloque(bloque, cursos);
+                for (var resultado : resultados) {
+                    switch (resultado.estado()) {
+                        case CREADO -> creados++;
+                        case DUPLICADO -> duplicados++;
+                        case ERROR -> errores++;
+                    }
+                }
+                salida.accept(resultados);
+                bloque.clear();
+            }
+            if (linea == null) {
+                return new DatosResumenLote(numero, creados, duplicados, errores);
+            }
+        }
+    }
+
+    private LineaLote interpretar(long numero, String linea) {
+        DatosRegistroTopico datos;
+        try {
+            datos = objectMapper.readValue(linea, DatosRegistroTopico.class);
+        } catch (JacksonException e) {
+            return LineaLote.conError(numero, "JSON inválido: " + e.getOriginalMessage());
+        }
+        var violaciones = validator.validate(datos);
+        if (!violaciones.isEmpty()) {
+            return LineaLote.conError(numero, violaciones.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new LineaLote(numero, datos, HuellaContenido.calcular(datos.titulo(), datos.mensaje()), null);
+    }
+
+    private List<DatosResultadoLinea> procesarBloque(List<LineaLote> bloque, Map<String, Curso> cursos) {
+        var resultados = new DatosResultadoLinea[bloque.size()];
+        try {
+            transactionTemplate.executeWithoutResult(estado -> insertarBloque(bloque, cursos, resultados));
+        } catch (DataAccessException e) {
+            // Un duplicado insertado en paralelo u otra violación revierte todo el bloque
+            for (int i = 0; i < bloque.size(); i++) {
+                if (resultados[i] == null || resultados[i].estado() == EstadoLineaLote.CREADO) {
+                    resultados[i] = DatosResultadoLinea.error(bloque.get(i).numero(),
+                            "Bloque revertido: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private void insertarBloque(List<LineaLote> bloque, Map<String, Curso> cursos, DatosResultadoLinea[] resultados) {
+        em.unwrap(Session.class).setJdbcBatchSize(Math.min(tamanioBloque, 1000));
+
+        var validas = bloque.stream().filter(l -> l.error() == null).toList();
+        var hashesExistentes = validas.isEmpty() ? Set.<String>of()
+                : new HashSet<>(topicoRepository.buscarHashesExistentes(validas.stream().map(LineaLote::hash).collect(Collectors.toSet())));
+        var autores = validas.isEmpty() ? Map.<Long, String>of()
+                : usuarioRepository.buscarNombresPorIds(validas.stream().map(l -> l.datos().autorId()).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(DatosNombreUsuario::id, DatosNombreUsuario::nombre));
+        resolverCursos(validas, cursos);
+
+        var vistos = new HashSet<String>();
+        var ahora = LocalDateTime.now();
+        var nuevos = new ArrayList<Topico>();
+        var indices = new ArrayList<Integer>();
+        for (int i = 0; i < bloque.size(); i++) {
+            var linea = bloque.get(i);
+            if (linea.error() != null) {
+                resultados[i] = DatosResultadoLinea.error(linea.numero(), linea.error());
+                continue;
+            }
+            var datos = linea.datos();
+            var curso = cursos.get(clave(datos.curso()));
+            if (hashesExistentes.contains(linea.hash()) || !vistos.add(linea.hash())) {
+                resultados[i] = DatosResultadoLinea.duplicado(linea.numero());
+            } else if (!autores.containsKey(datos.autorId())) {
+                resultados[i] = DatosResultadoLinea.error(linea.numero(), "El autor con ID " + datos.autorId() + " no existe");
+            } else if (curso == null) {
+                resultados[i] = DatosResultadoLinea.error(linea.numero(), "El curso '" + datos.curso() + "' no existe");
+            } else {
+                var topico = new Topico();
+                topico.setTitulo(datos.titulo());
+                topico.setMensaje(datos.mensaje());
+                // Referencias sin SELECT: el autor ya se comprobó en la consulta por lotes
+                topico.setAutor(em.getReference(Usuario.class, datos.autorId()));
+                topico.setCurso(em.getReference(Curso.class, curso.getId()));
+                topico.setFechaCreacion(ahora);
+                topico.setStatus(StatusTopico.ABIERTO);
+                em.persist(topico);
+                nuevos.add(topico);
+                indices.add(i);
+            }
+        }
+        em.flush();
+
+        for (int j = 0; j < nuevos.size(); j++) {
+            var topico = nuevos.get(j);
+            var linea = bloque.get(indices.get(j));
+            resultados[indices.get(j)] = DatosResultadoLinea.creado(linea.numero(), topico.getId());
+            var datos = new DatosListadoTopico(topico.getId(), topico.getTitulo(), topico.getMensaje(),
+                    topico.getFechaCreacion(), topico.getStatus(), autores.get(linea.datos().autorId()),
+                    cursos.get(clave(linea.datos().curso())).getNombre(), 0, topico.getVersion());
+            eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.CREADO, topico.getId(), datos));
+        }
+        em.clear();
+    }
+
+    private void resolverCursos(List<LineaLote> validas, Map<String, Curso> cursos) {
+        var pendientes = validas.stream()
+                .map(l -> l.datos().curso())
+                .filter(nombre -> !cursos.containsKey(clave(nombre)))
+                .collect(Collectors.toSet());
+        if (!pendientes.isEmpty()) {
+            cursoRepository.findByNombreIn(pendientes).forEach(c -> cursos.put(clave(c.getNombre()), c));
+        }
+    }
+
+    private static String clave(String nombreCurso) {
+        return nombreCurso.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record LineaLote(long numero, DatosRegistroTopico datos, String hash, String error) {
+        static LineaLote conError(long numero, String error) {
+            return new LineaLote(numero, null, null, error);
+        }
+    }
+}
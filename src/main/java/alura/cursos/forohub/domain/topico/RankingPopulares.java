@@ -0,0 +1,110 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.topico.dto.DatosTopicoPopular;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Ranking en memoria de los tópicos más vistos con puntuación decreciente en el tiempo.
+ * <p>
+ * En cada volcado las puntuaciones se multiplican por {@code 2^(-Δt / vidaMedia)} y se suman las
+ * vistas nuevas; las que caen por debajo de media vista se olvidan, así que solo se siguen los
+ * tópicos vistos en las últimas vidas medias. El top-N se recalcula con un montículo de mínimos de
+ * tamaño N y se publica como lista inmutable: las lecturas no bloquean ni tocan la base de datos.
+ */
+class RankingPopulares {
+
+    private static final double PUNTUACION_MINIMA = 0.5;
+    private static final Comparator<Entrada> POR_PUNTUACION = Comparator.comparingDouble(Entrada::puntuacion);
+
+    private final double vidaMediaNanos;
+    private final int capacidad;
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private long ultimoDecaimiento;
+    private volatile List<DatosTopicoPopular> top = List.of();
+
+    RankingPopulares(Duration vidaMedia, int capacidad, long ahoraNanos) {
+        this.vidaMediaNanos = vidaMedia.toNanos();
+        this.capacidad = capacidad;
+        this.ultimoDecaimiento = ahoraNanos;
+    }
+
+    synchronized void acumular(Map<Long, Long> vistas, Map<Long, String> titulos, long ahoraNanos) {
+        var factor = Math.pow(2, -(ahoraNanos - ultimoDecaimiento) / vidaMediaNanos);
+        ultimoDecaimiento = ahoraNanos;
+        entradas.values().removeIf(entrada -> {
+            entrada.puntuacion *= factor;
+            return entrada.puntuacion < PUNTUACION_MINIMA && !vistas.containsKey(entrada.id);
+        });
+        vistas.forEach((id, cantidad) -> {
+            var entrada = entradas.computeIfAbsent(id, Entrada::new);
+            entrada.puntuacion += cantidad;
+            var titulo = titulos.get(id);
+            if (titulo != null) {
+                entrada.titulo = titulo;
+            }
+        });
+        publicar();
+    }
+
+    synchronized void renombrar(Long id, String titulo) {
+        var entrada = entradas.get(id);
+        if (entrada != null) {
+            entrada.titulo = titulo;
+            publicar();
+        }
+    }
+
+    synchronized void eliminar(Long id) {
+        if (entradas.remove(id) != null) {
+            publicar();
+        }
+    }
+
+    List<DatosTopicoPopular> top(int cantidad) {
+        var actual = top;
+        return actual.subList(0, Math.min(Math.max(cantidad, 0), actual.size()));
+    }
+
+    synchronized int seguidos() {
+        return entradas.size();
+    }
+
+    private void publicar() {
+        var monticulo = new PriorityQueue<>(capacidad + 1, POR_PUNTUACION);
+        for (var entrada : entradas.values()) {
+            if (monticulo.size() < capacidad) {
+                monticulo.add(entrada);
+            } else if (entrada.puntuacion > monticulo.peek().puntuacion) {
+                monticulo.poll();
+                monticulo.add(entrada);
+            }
+        }
+        var ordenados = new ArrayList<DatosTopicoPopular>(monticulo.size());
+        while (!monticulo.isEmpty()) {
+            var entrada = monticulo.poll();
+            ordenados.add(new DatosTopicoPopular(entrada.id, entrada.titulo, entrada.puntuacion));
+        }
+        top = List.copyOf(ordenados.reversed());
+    }
+
+    private static final class Entrada {
+        private final Long id;
+        private String titulo;
+        private double puntuacion;
+
+        Entrada(Long id) {
+            this.id = id;
+        }
+
+        double puntuacion() {
+            return puntuacion;
+        }
+    }
+}
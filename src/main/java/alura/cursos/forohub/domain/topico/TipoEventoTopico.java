@@ -0,0 +1,10 @@
+package alura.cursos.forohub.domain.topico;
+
+public enum TipoEventoTopico {
+    CREADO,
+    ACTUALIZADO,
+    CAMBIO_ESTADO,
+    ELIMINADO,
+    // Movido a topico_archivo: sale de los listados y la búsqueda, el detalle sigue disponible
+    ARCHIVADO
+}
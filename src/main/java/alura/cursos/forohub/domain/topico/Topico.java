@@ -6,9 +6,15 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 @Entity
-@Table(name = "topico")
+@Table(name = "topico", indexes = {
+        @Index(name = "idx_topico_fecha_creacion_id", columnList = "fecha_creacion, id"),
+        @Index(name = "idx_topico_curso_fecha_creacion", columnList = "curso_id, fecha_creacion"),
+        @Index(name = "idx_topico_status_fecha_creacion", columnList = "status, fecha_creacion"),
+        @Index(name = "idx_topico_autor_fecha_creacion_id", columnList = "autor_id, fecha_creacion, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,8 +22,11 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class Topico {
 
+    // Secuencia con optimizador pooled (en MySQL, tabla topico_seq): reserva bloques de ids en memoria
+    // para que Hibernate pueda agrupar los INSERT en lotes JDBC, cosa imposible con IDENTITY
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "topico_seq")
+    @SequenceGenerator(name = "topico_seq", sequenceName = "topico_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -41,6 +50,26 @@ public class Topico {
     @JoinColumn(name = "curso_id", nullable = false)
     private Curso curso;
 
+    @Column(name = "hash_contenido", nullable = false, length = 64)
+    private String hashContenido;
+
+    // Denormalizado: solo lo modifica TopicoRepository.incrementarTotalRespuestas (UPDATE atómico),
+    // nunca el guardado de la entidad, para no pisar incrementos concurrentes
+    @Column(name = "total_respuestas", nullable = false, updatable = false)
+    private Integer totalRespuestas;
+
+    // Igual que totalRespuestas: lo suma ContadorVistas con UPDATE por lotes, el guardado de la entidad no lo escribe
+    @Column(nullable = false, updatable = false)
+    private Long vistas;
+
+    // Bloqueo optimista de actualizarTopico y base de los ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
     @PrePersist
     public void prePersist() {
         if (this.fechaCreacion == null) {
@@ -49,6 +78,40 @@ public class Topico {
         if (this.status == null) {
             this.status = StatusTopico.ABIERTO;
         }
+        if (this.totalRespuestas == null) {
+            this.totalRespuestas = 0;
+        }
+        if (this.vistas == null) {
+            this.vistas = 0L;
+        }
+        this.fechaActualizacion = this.fechaCreacion;
+        actualizarHashContenido();
+    }
+
+    // La huella no se recalcula aquí: los duplicados que registró V8 en topico_duplicado llevan una huella propia
+    // derivada del id, y recalcularla en cualquier guardado devolvería la que choca con uk_topico_hash_contenido
+    @PreUpdate
+    public void preUpdate() {
+        this.fechaActualizacion = LocalDateTime.now();
+    }
+
+    public boolean tieneContenido(String titulo, String mensaje) {
+        return Objects.equals(this.titulo, titulo) && Objects.equals(this.mensaje, mensaje);
+    }
+
+    /**
+     * Cambia título y mensaje; la huella solo se recalcula si el contenido cambió.
+     */
+    public void actualizarContenido(String titulo, String mensaje) {
+        if (!tieneContenido(titulo, mensaje)) {
+            this.titulo = titulo;
+            this.mensaje = mensaje;
+            actualizarHashContenido();
+        }
+    }
+
+    private void actualizarHashContenido() {
+        this.hashContenido = HuellaContenido.calcular(this.titulo, this.mensaje);
     }
 }
 
@@ -0,0 +1,68 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tópico cerrado movido a topico_archivo por ArchivoTopicos. Solo lectura: lo consulta
+ * TopicoService.obtenerDetalle cuando el id ya no está en topico.
+ */
+@Entity
+@Immutable
+@Table(name = "topico_archivo", indexes = {
+        @Index(name = "idx_topico_archivo_fecha_creacion", columnList = "fecha_creacion")
+})
+@Getter
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class TopicoArchivado {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String titulo;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String mensaje;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private StatusTopico status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "autor_id", nullable = false)
+    private Usuario autor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "curso_id", nullable = false)
+    private Curso curso;
+
+    @Column(name = "hash_contenido", nullable = false, length = 64)
+    private String hashContenido;
+
+    @Column(name = "total_respuestas", nullable = false)
+    private Integer totalRespuestas;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+
+    @Column(nullable = false)
+    private Long vistas;
+
+    @Column(name = "fecha_archivo", nullable = false)
+    private LocalDateTime fechaArchivo;
+}
@@ -0,0 +1,15 @@
+package alura.cursos.forohub.domain.topico;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TopicoArchivadoRepository extends JpaRepository<TopicoArchivado, Long> {
+
+    // Autor y curso en la misma consulta: el detalle necesita sus nombres
+    @EntityGraph(attributePaths = {"autor", "curso"})
+    Optional<TopicoArchivado> findConAutorYCursoById(Long id);
+}
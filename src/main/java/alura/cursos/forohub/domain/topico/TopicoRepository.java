@@ -1,34 +1,184 @@
 package alura.cursos.forohub.domain.topico;
 
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosVersionTopico;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TopicoRepository extends JpaRepository<Topico, Long> {
 
-    // Validar que no exista un tópico con el mismo título y mensaje
-    boolean existsByTituloAndMensaje(String titulo, String mensaje);
+    // Validar que no exista un tópico con el mismo contenido (búsqueda por índice único)
+    boolean existsByHashContenido(String hashContenido);
 
-    // Buscar tópico por título y mensaje
-    Optional<Topico> findByTituloAndMensaje(String titulo, String mensaje);
+    // Id del tópico con el mismo contenido, sin cargar la entidad
+    @Query("SELECT t.id FROM Topico t WHERE t.hashContenido = :hashContenido")
+    Optional<Long> findIdByHashContenido(@Param("hashContenido") String hashContenido);
 
-    // Buscar tópicos por nombre de curso
-    @Query("SELECT t FROM Topico t WHERE t.curso.nombre = :nombreCurso")
-    Page<Topico> findByCursoNombre(@Param("nombreCurso") String nombreCurso, Pageable pageable);
+    // Listado paginado como proyección: una sola consulta con JOIN a usuario y curso
+    @Query(value = """
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            """,
+            countQuery = "SELECT COUNT(t) FROM Topico t")
+    Page<DatosListadoTopico> listarProyeccion(Pageable pageable);
 
-    // Buscar tópicos por año de creación
-    @Query("SELECT t FROM Topico t WHERE YEAR(t.fechaCreacion) = :anio")
-    Page<Topico> findByAnio(@Param("anio") Integer anio, Pageable pageable);
+    // Buscar tópicos en un rango semiabierto [desde, hasta) de fecha de creación (sargable: usa el índice)
+    @Query(value = """
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE t.fechaCreacion >= :desde AND t.fechaCreacion < :hasta
+            """,
+            countQuery = "SELECT COUNT(t) FROM Topico t WHERE t.fechaCreacion >= :desde AND t.fechaCreacion < :hasta")
+    Page<DatosListadoTopico> findByFechaCreacionEntre(@Param("desde") LocalDateTime desde,
+                                                      @Param("hasta") LocalDateTime hasta,
+                                                      Pageable pageable);
 
-    // Buscar tópicos por curso y año
-    @Query("SELECT t FROM Topico t WHERE t.curso.nombre = :nombreCurso AND YEAR(t.fechaCreacion) = :anio")
-    Page<Topico> findByCursoNombreAndAnio(@Param("nombreCurso") String nombreCurso, @Param("anio") Integer anio, Pageable pageable);
-}
+    // Buscar tópicos por curso en un rango [desde, hasta) (índice curso_id, fecha_creacion). fk(t.curso) compara
+    // topico.curso_id; con t.curso.id Hibernate filtraría por el id del curso unido y el plan partiría de curso
+    @Query(value = """
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE fk(t.curso) = :cursoId AND t.fechaCreacion >= :desde AND t.fechaCreacion < :hasta
+            """,
+            countQuery = """
+            SELECT COUNT(t) FROM Topico t
+            WHERE fk(t.curso) = :cursoId AND t.fechaCreacion >= :desde AND t.fechaCreacion < :hasta
+            """)
+    Page<DatosListadoTopico> findByCursoIdAndFechaCreacionEntre(@Param("cursoId") Long cursoId,
+                                                                @Param("desde") LocalDateTime desde,
+                                                                @Param("hasta") LocalDateTime hasta,
+                                                                Pageable pageable);
+
+    // Paginación por cursor: tópicos posteriores a (fecha, id) y anteriores a "hasta", por índice (fecha_creacion, id).
+    // El rango redundante [fecha, hasta) acota el recorrido del índice; el OR de la tupla por sí solo no es un rango
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE t.fechaCreacion >= :fecha AND t.fechaCreacion < :hasta
+              AND (t.fechaCreacion > :fecha OR (t.fechaCreacion = :fecha AND t.id > :id))
+            ORDER BY t.fechaCreacion, t.id
+            """)
+    List<DatosListadoTopico> listarDespuesDe(@Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                             @Param("hasta") LocalDateTime hasta, Limit limit);
+
+    // Paginación por cursor filtrada por curso
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE fk(t.curso) = :cursoId
+              AND t.fechaCreacion >= :fecha AND t.fechaCreacion < :hasta
+              AND (t.fechaCreacion > :fecha OR (t.fechaCreacion = :fecha AND t.id > :id))
+            ORDER BY t.fechaCreacion, t.id
+            """)
+    List<DatosListadoTopico> listarPorCursoDespuesDe(@Param("cursoId") Long cursoId,
+                                                     @Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                                     @Param("hasta") LocalDateTime hasta, Limit limit);
+
+    // Tópicos de un autor, del más reciente al más antiguo, anteriores a (fecha, id): recorrido del índice
+    // (autor_id, fecha_creacion, id) hacia atrás, filtrando por topico.autor_id (fk). Proyección: nunca carga Usuario
+    // ni sus perfiles
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE fk(t.autor) = :autorId
+              AND t.fechaCreacion <= :fecha
+              AND (t.fechaCreacion < :fecha OR (t.fechaCreacion = :fecha AND t.id < :id))
+            ORDER BY t.fechaCreacion DESC, t.id DESC
+            """)
+    List<DatosListadoTopico> listarPorAutorAntesDe(@Param("autorId") Long autorId,
+                                                   @Param("fecha") LocalDateTime fecha, @Param("id") Long id,
+                                                   Limit limit);
+
+    // Contador denormalizado de respuestas, actualizado de forma atómica (cambia la versión y la fecha de
+    // modificación: invalida el ETag y el Last-Modified)
+    @Modifying
+    @Query("""
+            UPDATE Topico t
+            SET t.totalRespuestas = t.totalRespuestas + 1, t.version = t.version + 1, t.fechaActualizacion = :ahora
+            WHERE t.id = :id
+            """)
+    int incrementarTotalRespuestas(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+    // Versión y fecha de modificación del tópico, para responder 304 sin cargar la entidad
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosVersionTopico(t.id, t.version, t.fechaActualizacion)
+            FROM Topico t WHERE t.id = :id
+            """)
+    Optional<DatosVersionTopico> findVersionById(@Param("id") Long id);
+
+    // Autor y curso en la misma consulta: el detalle necesita sus nombres
+    @EntityGraph(attributePaths = {"autor", "curso"})
+    Optional<Topico> findConAutorYCursoById(Long id);
 
+    // Exportación completa por bloques de id (keyset por la clave primaria, sin conteo ni OFFSET). Las filas son
+    // DTO: no entran en el contexto de persistencia
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE t.id > :desde
+            ORDER BY t.id
+            """)
+    List<DatosListadoTopico> exportarDespuesDe(@Param("desde") Long desde, Limit limit);
+
+    // Deduplicación por bloques de la importación masiva
+    @Query("SELECT t.hashContenido FROM Topico t WHERE t.hashContenido IN :hashes")
+    List<String> buscarHashesExistentes(@Param("hashes") Collection<String> hashes);
+
+    // Cierre de inactivos: tópicos abiertos sin actividad desde "corte" con id en (desde, hasta]. El rango de ids
+    // acota las filas que lee cada lote aunque haya pocos candidatos
+    @Query("""
+            SELECT t.id FROM Topico t
+            WHERE t.id > :desde AND t.id <= :hasta
+              AND t.status = alura.cursos.forohub.domain.topico.StatusTopico.ABIERTO
+              AND t.fechaActualizacion < :corte
+              AND NOT EXISTS (SELECT 1 FROM Respuesta r WHERE r.topico.id = t.id AND r.fechaCreacion >= :corte)
+            ORDER BY t.id
+            """)
+    List<Long> buscarInactivosEntre(@Param("desde") Long desde, @Param("hasta") Long hasta,
+                                    @Param("corte") LocalDateTime corte);
+
+    @Query("SELECT MAX(t.id) FROM Topico t")
+    Optional<Long> buscarMaximoId();
+
+    // Cierra de una vez los ids del lote; repite las condiciones por si alguno cambió desde la búsqueda
+    @Modifying
+    @Query("""
+            UPDATE Topico t
+            SET t.status = alura.cursos.forohub.domain.topico.StatusTopico.CERRADO,
+                t.version = t.version + 1, t.fechaActualizacion = :ahora
+            WHERE t.id IN :ids
+              AND t.status = alura.cursos.forohub.domain.topico.StatusTopico.ABIERTO
+              AND t.fechaActualizacion < :corte
+              AND NOT EXISTS (SELECT 1 FROM Respuesta r WHERE r.topico.id = t.id AND r.fechaCreacion >= :corte)
+            """)
+    int cerrarInactivos(@Param("ids") Collection<Long> ids, @Param("corte") LocalDateTime corte,
+                        @Param("ahora") LocalDateTime ahora);
+
+    @Query("""
+            SELECT new alura.cursos.forohub.domain.topico.dto.DatosListadoTopico(
+                t.id, t.titulo, t.mensaje, t.fechaCreacion, t.status, a.nombre, c.nombre, t.totalRespuestas, t.version)
+            FROM Topico t JOIN t.autor a JOIN t.curso c
+            WHERE t.id IN :ids
+            """)
+    List<DatosListadoTopico> listarPorIds(@Param("ids") Collection<Long> ids);
+}
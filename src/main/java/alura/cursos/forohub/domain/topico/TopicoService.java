@@ -1,49 +1,67 @@
 package alura.cursos.forohub.domain.topico;
 
 import alura.cursos.forohub.domain.curso.CursoRepository;
-import alura.cursos.forohub.domain.respuesta.RespuestaRepository;
 import alura.cursos.forohub.domain.topico.dto.DatosActualizacionTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosDetalleTopico;
 import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
 import alura.cursos.forohub.domain.topico.dto.DatosRegistroTopico;
 import alura.cursos.forohub.domain.topico.dto.DatosRespuestaTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosVersionTopico;
 import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import alura.cursos.forohub.infra.errores.PrecondicionFallidaException;
 import alura.cursos.forohub.infra.errores.ValidacionException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+// Un timer por operación (etiquetas class, method, exception) con el aspecto @Timed de Micrometer
+@Timed(value = "forohub.topicos.servicio", description = "Operaciones de TopicoService")
 @Service
 public class TopicoService {
 
+    private static final int TAMANIO_MAXIMO_CURSOR = 100;
+    static final int LOTE_EXPORTACION = 1000;
+
     private final TopicoRepository topicoRepository;
+    private final TopicoArchivadoRepository topicoArchivadoRepository;
     private final UsuarioRepository usuarioRepository;
     private final CursoRepository cursoRepository;
-    private final RespuestaRepository respuestaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TopicoService(TopicoRepository topicoRepository,
+                         TopicoArchivadoRepository topicoArchivadoRepository,
                          UsuarioRepository usuarioRepository,
                          CursoRepository cursoRepository,
-                         RespuestaRepository respuestaRepository) {
+                         ApplicationEventPublisher eventPublisher) {
         this.topicoRepository = topicoRepository;
+        this.topicoArchivadoRepository = topicoArchivadoRepository;
         this.usuarioRepository = usuarioRepository;
         this.cursoRepository = cursoRepository;
-        this.respuestaRepository = respuestaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public DatosRespuestaTopico crearTopico(DatosRegistroTopico datos) {
-        if (topicoRepository.existsByTituloAndMensaje(datos.titulo(), datos.mensaje())) {
+        if (topicoRepository.existsByHashContenido(HuellaContenido.calcular(datos.titulo(), datos.mensaje()))) {
             throw new ValidacionException("Ya existe un tópico con el mismo título y mensaje");
         }
 
         var autor = usuarioRepository.findById(datos.autorId())
                 .orElseThrow(() -> new ValidacionException("El autor con ID " + datos.autorId() + " no existe"));
 
-        var curso = cursoRepository.findByNombre(datos.curso())
+        var curso = cursoRepository.buscarPorNombre(datos.curso())
                 .orElseThrow(() -> new ValidacionException("El curso '" + datos.curso() + "' no existe"));
 
         var topico = new Topico();
@@ -54,54 +72,173 @@ public class TopicoService {
         topico.setFechaCreacion(LocalDateTime.now());
         topico.setStatus(StatusTopico.ABIERTO);
 
-        return new DatosRespuestaTopico(topicoRepository.save(topico));
+        var guardado = topicoRepository.save(topico);
+        eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.CREADO, guardado.getId(), new DatosListadoTopico(guardado)));
+        return new DatosRespuestaTopico(guardado);
     }
 
+    @Transactional(readOnly = true)
     public Page<DatosListadoTopico> listarTopicos(Pageable paginacion) {
-        return topicoRepository.findAll(paginacion).map(DatosListadoTopico::new);
+        return topicoRepository.listarProyeccion(paginacion);
     }
 
+    @Transactional(readOnly = true)
     public Page<DatosListadoTopico> buscarTopicos(String curso, Integer anio, Pageable paginacion) {
-        Page<Topico> topicos;
-
-        if (curso != null && anio != null) {
-            topicos = topicoRepository.findByCursoNombreAndAnio(curso, anio, paginacion);
-        } else if (curso != null) {
-            topicos = topicoRepository.findByCursoNombre(curso, paginacion);
-        } else if (anio != null) {
-            topicos = topicoRepository.findByAnio(anio, paginacion);
-        } else {
-            topicos = topicoRepository.findAll(paginacion);
+        validarAnio(anio);
+        if (curso == null && anio == null) {
+            return topicoRepository.listarProyeccion(paginacion);
         }
 
-        return topicos.map(DatosListadoTopico::new);
+        var desde = anio != null ? inicioDeAnio(anio) : CursorPaginacion.FECHA_MINIMA;
+        var hasta = anio != null ? inicioDeAnio(anio + 1) : CursorPaginacion.FECHA_MAXIMA;
+
+        if (curso == null) {
+            return topicoRepository.findByFechaCreacionEntre(desde, hasta, paginacion);
+        }
+        // El nombre del curso se resuelve una sola vez a su id; un curso inexistente no tiene tópicos
+        return cursoRepository.buscarIdPorNombre(curso)
+                .map(cursoId -> topicoRepository.findByCursoIdAndFechaCreacionEntre(cursoId, desde, hasta, paginacion))
+                .orElseGet(() -> Page.empty(paginacion));
     }
 
-    public DatosRespuestaTopico obtenerTopicoPorId(Long id) {
-        var topico = topicoRepository.findById(id)
+    @Transactional(readOnly = true)
+    public DatosPaginaCursor<DatosListadoTopico> buscarTopicosCursor(String curso, Integer anio,
+                                                                    String after, int size) {
+        validarAnio(anio);
+        int tamanio = Math.clamp(size, 1, TAMANIO_MAXIMO_CURSOR);
+        var posicion = CursorPaginacion.desde(after);
+        var hasta = CursorPaginacion.FECHA_MAXIMA;
+
+        if (anio != null) {
+            var inicioAnio = inicioDeAnio(anio);
+            if (posicion.fechaCreacion().isBefore(inicioAnio)) {
+                posicion = new CursorPaginacion(inicioAnio, 0L);
+            }
+            hasta = inicioDeAnio(anio + 1);
+        }
+
+        Long cursoId = null;
+        if (curso != null) {
+            var id = cursoRepository.buscarIdPorNombre(curso);
+            if (id.isEmpty()) {
+                return new DatosPaginaCursor<>(List.of(), tamanio, false, null);
+            }
+            cursoId = id.get();
+        }
+
+        // Se pide un elemento extra para saber si hay siguiente página sin COUNT(*)
+        var limite = Limit.of(tamanio + 1);
+        var topicos = cursoId != null
+                ? topicoRepository.listarPorCursoDespuesDe(cursoId, posicion.fechaCreacion(), posicion.id(), hasta, limite)
+                : topicoRepository.listarDespuesDe(posicion.fechaCreacion(), posicion.id(), hasta, limite);
+
+        return DatosPaginaCursor.desde(topicos, tamanio,
+                ultimo -> new CursorPaginacion(ultimo.fechaCreacion(), ultimo.id()).codificar());
+    }
+
+    /**
+     * Tópicos de un autor, del más reciente al más antiguo, con paginación por cursor. La existencia del
+     * autor solo se comprueba cuando la página sale vacía, para distinguir "sin tópicos" de un 404.
+     */
+    @Transactional(readOnly = true)
+    public DatosPaginaCursor<DatosListadoTopico> listarTopicosDeAutor(Long autorId, String after, int size) {
+        int tamanio = Math.clamp(size, 1, TAMANIO_MAXIMO_CURSOR);
+        var posicion = CursorPaginacion.desdeElFinal(after);
+
+        // Se pide un elemento extra para saber si hay siguiente página sin COUNT(*)
+        var topicos = topicoRepository.listarPorAutorAntesDe(
+                autorId, posicion.fechaCreacion(), posicion.id(), Limit.of(tamanio + 1));
+        if (topicos.isEmpty() && !usuarioRepository.existsById(autorId)) {
+            throw new EntityNotFoundException("Usuario con ID " + autorId + " no encontrado");
+        }
+
+        return DatosPaginaCursor.desde(topicos, tamanio,
+                ultimo -> new CursorPaginacion(ultimo.fechaCreacion(), ultimo.id()).codificar());
+    }
+
+    /**
+     * Recorre todos los tópicos por id en bloques de {@value #LOTE_EXPORTACION}. Sin transacción propia: cada
+     * bloque es una consulta corta de solo lectura (la del repositorio) y la conexión vuelve al pool antes de
+     * entregar las filas al destino, así un cliente lento descargando no retiene una conexión. No es una foto
+     * única de la tabla: un tópico creado durante el recorrido puede aparecer, pero ninguno sale dos veces.
+     */
+    public long exportar(Consumer<DatosListadoTopico> destino) {
+        return exportar(destino, LOTE_EXPORTACION);
+    }
+
+    long exportar(Consumer<DatosListadoTopico> destino, int lote) {
+        long filas = 0;
+        long desde = 0;
+        while (true) {
+            var bloque = topicoRepository.exportarDespuesDe(desde, Limit.of(lote));
+            bloque.forEach(destino);
+            filas += bloque.size();
+            if (bloque.size() < lote) {
+                return filas;
+            }
+            desde = bloque.getLast().id();
+        }
+    }
+
+    // Para revalidar GET /topicos/{id} sin la respuesta en caché: 304 sin cargar el tópico
+    @Transactional(readOnly = true)
+    public Optional<DatosVersionTopico> obtenerVersion(Long id) {
+        return topicoRepository.findVersionById(id);
+    }
+
+    // Contenido y versión de la misma entidad: el ETag siempre corresponde al cuerpo que se sirve.
+    // Los tópicos cerrados antiguos se mueven a topico_archivo (ArchivoTopicos): el detalle los sigue sirviendo
+    @Transactional(readOnly = true)
+    public DatosDetalleTopico obtenerDetalle(Long id) {
+        return topicoRepository.findConAutorYCursoById(id)
+                .map(topico -> new DatosDetalleTopico(new DatosRespuestaTopico(topico),
+                        new DatosVersionTopico(topico.getId(), topico.getVersion(), topico.getFechaActualizacion())))
+                .or(() -> topicoArchivadoRepository.findConAutorYCursoById(id)
+                        .map(archivado -> new DatosDetalleTopico(new DatosRespuestaTopico(archivado), null)))
                 .orElseThrow(() -> new EntityNotFoundException("Tópico con ID " + id + " no encontrado"));
-        return new DatosRespuestaTopico(topico);
     }
 
     @Transactional
     public DatosRespuestaTopico actualizarTopico(Long id, DatosActualizacionTopico datos) {
+        return actualizarTopico(id, datos, null);
+    }
+
+    /**
+     * Actualiza el tópico solo si su versión actual está entre las aceptadas (If-Match); con {@code null} no
+     * hay condición. La comprobación se hace sobre la entidad ya cargada en esta transacción y el UPDATE lleva
+     * la misma versión, así que una edición concurrente entre ambos pasos también falla (409).
+     */
+    @Transactional
+    public DatosRespuestaTopico actualizarTopico(Long id, DatosActualizacionTopico datos, Set<Long> versionesAceptadas) {
         var topico = topicoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tópico con ID " + id + " no encontrado"));
+        if (versionesAceptadas != null && !versionesAceptadas.contains(topico.getVersion())) {
+            throw new PrecondicionFallidaException(
+                    "El tópico " + id + " cambió desde esa versión (actual: " + topico.getVersion() + ")");
+        }
 
-        var topicoExistente = topicoRepository.findByTituloAndMensaje(datos.titulo(), datos.mensaje());
-        if (topicoExistente.isPresent() && !topicoExistente.get().getId().equals(id)) {
-            throw new ValidacionException("Ya existe otro tópico con el mismo título y mensaje");
+        // Sin cambios de contenido no hay nada que comprobar (y la huella guardada se conserva)
+        if (!topico.tieneContenido(datos.titulo(), datos.mensaje())) {
+            var idExistente = topicoRepository.findIdByHashContenido(HuellaContenido.calcular(datos.titulo(), datos.mensaje()));
+            if (idExistente.isPresent() && !idExistente.get().equals(id)) {
+                throw new ValidacionException("Ya existe otro tópico con el mismo título y mensaje");
+            }
         }
 
-        var curso = cursoRepository.findByNombre(datos.curso())
+        var curso = cursoRepository.buscarPorNombre(datos.curso())
                 .orElseThrow(() -> new ValidacionException("El curso '" + datos.curso() + "' no existe"));
 
-        topico.setTitulo(datos.titulo());
-        topico.setMensaje(datos.mensaje());
+        var tipoEvento = topico.getStatus() != datos.status()
+                ? TipoEventoTopico.CAMBIO_ESTADO
+                : TipoEventoTopico.ACTUALIZADO;
+
+        topico.actualizarContenido(datos.titulo(), datos.mensaje());
         topico.setStatus(datos.status());
         topico.setCurso(curso);
 
-        return new DatosRespuestaTopico(topicoRepository.save(topico));
+        var guardado = topicoRepository.save(topico);
+        eventPublisher.publishEvent(new EventoTopico(tipoEvento, id, new DatosListadoTopico(guardado)));
+        return new DatosRespuestaTopico(guardado);
     }
 
     @Transactional
@@ -109,14 +246,27 @@ public class TopicoService {
         var topico = topicoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Tópico con ID " + id + " no encontrado"));
 
-        if (respuestaRepository.existsByTopicoId(id)) {
-            long cantidad = respuestaRepository.countByTopicoId(id);
+        if (topico.getTotalRespuestas() > 0) {
             throw new ValidacionException(
-                "No se puede eliminar el tópico porque tiene " + cantidad +
+                "No se puede eliminar el tópico porque tiene " + topico.getTotalRespuestas() +
                 " respuesta(s) asociada(s). Elimínalas primero o cierra el tópico."
             );
         }
 
         topicoRepository.deleteById(topico.getId());
+        eventPublisher.publishEvent(new EventoTopico(TipoEventoTopico.ELIMINADO, id, null));
+    }
+
+    // [anio, anio + 1) debe caber en el rango de fechas de los cursores; fuera de él sería un 500 de LocalDateTime
+    private static void validarAnio(Integer anio) {
+        int minimo = CursorPaginacion.FECHA_MINIMA.getYear();
+        int maximo = CursorPaginacion.FECHA_MAXIMA.getYear() - 1;
+        if (anio != null && (anio < minimo || anio > maximo)) {
+            throw new ValidacionException("El año debe estar entre " + minimo + " y " + maximo);
+        }
+    }
+
+    private static LocalDateTime inicioDeAnio(int anio) {
+        return LocalDateTime.of(anio, 1, 1, 0, 0);
     }
 }
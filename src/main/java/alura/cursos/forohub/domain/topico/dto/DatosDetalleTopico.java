@@ -0,0 +1,11 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+/**
+ * Detalle de GET /topicos/{id} junto con la versión de la que sale su ETag, leídos de la misma fila.
+ * Los tópicos archivados no tienen versión ({@code null}).
+ */
+public record DatosDetalleTopico(
+        DatosRespuestaTopico topico,
+        DatosVersionTopico version
+) {
+}
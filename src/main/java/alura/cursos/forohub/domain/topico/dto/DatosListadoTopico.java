@@ -16,7 +16,9 @@ public record DatosListadoTopico(
         LocalDateTime fechaCreacion,
         StatusTopico status,
         String autorNombre,
-        String cursoNombre
+        String cursoNombre,
+        Integer totalRespuestas,
+        Long version
 ) {
     public DatosListadoTopico(Topico topico) {
         this(
@@ -26,8 +28,19 @@ public record DatosListadoTopico(
                 topico.getFechaCreacion(),
                 topico.getStatus(),
                 topico.getAutor().getNombre(),
-                topico.getCurso().getNombre()
+                topico.getCurso().getNombre(),
+                topico.getTotalRespuestas(),
+                topico.getVersion()
         );
     }
+
+    /**
+     * El mismo tópico tras sumar una respuesta: contador y versión incrementados, como los deja
+     * TopicoRepository.incrementarTotalRespuestas sin tocar la entidad cargada.
+     */
+    public DatosListadoTopico conRespuestaNueva() {
+        return new DatosListadoTopico(id, titulo, mensaje, fechaCreacion, status, autorNombre, cursoNombre,
+                totalRespuestas + 1, version + 1);
+    }
 }
 
@@ -0,0 +1,26 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de la paginación por cursor (estilo Slice): sin total de elementos.
+ * {@code next} es el valor a enviar en el parámetro {@code after} para la siguiente página.
+ */
+public record DatosPaginaCursor<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String next
+) {
+    /**
+     * Arma la página con el resultado de una consulta que pidió {@code tamanio + 1} elementos: el extra solo
+     * indica que hay siguiente página, y el cursor sale del último elemento que sí se sirve.
+     */
+    public static <T> DatosPaginaCursor<T> desde(List<T> elementos, int tamanio, Function<T, String> cursorDe) {
+        boolean haySiguiente = elementos.size() > tamanio;
+        var contenido = haySiguiente ? elementos.subList(0, tamanio) : elementos;
+        var siguiente = haySiguiente ? cursorDe.apply(contenido.getLast()) : null;
+        return new DatosPaginaCursor<>(List.copyOf(contenido), tamanio, haySiguiente, siguiente);
+    }
+}
@@ -2,6 +2,7 @@ package alura.cursos.forohub.domain.topico.dto;
 
 import alura.cursos.forohub.domain.topico.StatusTopico;
 import alura.cursos.forohub.domain.topico.Topico;
+import alura.cursos.forohub.domain.topico.TopicoArchivado;
 
 import java.time.LocalDateTime;
 
@@ -29,5 +30,18 @@ public record DatosRespuestaTopico(
                 topico.getCurso().getNombre()
         );
     }
-}
 
+    public DatosRespuestaTopico(TopicoArchivado topico) {
+        this(
+                topico.getId(),
+                topico.getTitulo(),
+                topico.getMensaje(),
+                topico.getFechaCreacion(),
+                topico.getStatus(),
+                topico.getAutor().getId(),
+                topico.getAutor().getNombre(),
+                topico.getCurso().getId(),
+                topico.getCurso().getNombre()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+import alura.cursos.forohub.domain.topico.EstadoLineaLote;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de una línea de POST /topicos/lote. {@code id} solo en CREADO, {@code error} solo en ERROR.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DatosResultadoLinea(
+        long linea,
+        EstadoLineaLote estado,
+        Long id,
+        String error
+) {
+    public static DatosResultadoLinea creado(long linea, Long id) {
+        return new DatosResultadoLinea(linea, EstadoLineaLote.CREADO, id, null);
+    }
+
+    public static DatosResultadoLinea duplicado(long linea) {
+        return new DatosResultadoLinea(linea, EstadoLineaLote.DUPLICADO, null, null);
+    }
+
+    public static DatosResultadoLinea error(long linea, String error) {
+        return new DatosResultadoLinea(linea, EstadoLineaLote.ERROR, null, error);
+    }
+}
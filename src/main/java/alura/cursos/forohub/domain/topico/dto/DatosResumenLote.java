@@ -0,0 +1,12 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+/**
+ * Última línea de la respuesta de POST /topicos/lote.
+ */
+public record DatosResumenLote(
+        long lineas,
+        long creados,
+        long duplicados,
+        long errores
+) {
+}
@@ -0,0 +1,12 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+/**
+ * Entrada de GET /topicos/populares. {@code puntuacion} son vistas con decaimiento exponencial:
+ * una vista pesa la mitad tras cada vida media.
+ */
+public record DatosTopicoPopular(
+        Long id,
+        String titulo,
+        double puntuacion
+) {
+}
@@ -0,0 +1,14 @@
+package alura.cursos.forohub.domain.topico.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión (JPA @Version) y fecha de última modificación de un tópico.
+ * Alimenta los encabezados ETag y Last-Modified de GET /topicos/{id}.
+ */
+public record DatosVersionTopico(
+        Long id,
+        Long version,
+        LocalDateTime fechaActualizacion
+) {
+}
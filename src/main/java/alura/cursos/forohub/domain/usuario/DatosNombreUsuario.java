@@ -0,0 +1,7 @@
+package alura.cursos.forohub.domain.usuario;
+
+public record DatosNombreUsuario(
+        Long id,
+        String nombre
+) {
+}
@@ -3,6 +3,10 @@ package alura.cursos.forohub.domain.usuario;
 import alura.cursos.forohub.domain.perfil.Perfil;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,7 +38,10 @@ public class Usuario implements UserDetails {
     @Column(nullable = false, length = 255)
     private String contrasena;
 
+    // Colección cacheada: los perfiles se leen de la caché de segundo nivel sin ir a usuario_perfil
     @ManyToMany(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "usuario_perfil",
         joinColumns = @JoinColumn(name = "usuario_id"),
@@ -44,7 +51,12 @@ public class Usuario implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        if (perfiles == null || perfiles.isEmpty()) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+        return perfiles.stream()
+                .map(perfil -> new SimpleGrantedAuthority(perfil.getNombre()))
+                .toList();
     }
 
     @Override
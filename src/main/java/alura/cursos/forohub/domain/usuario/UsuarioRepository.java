@@ -1,14 +1,23 @@
 package alura.cursos.forohub.domain.usuario;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     UserDetails findByCorreoElectronico(String correoElectronico);
 
     boolean existsByCorreoElectronico(String correoElectronico);
+
+    // Resolución por lotes de autores (importación masiva): solo id y nombre, sin cargar entidades
+    @Query("SELECT new alura.cursos.forohub.domain.usuario.DatosNombreUsuario(u.id, u.nombre) FROM Usuario u WHERE u.id IN :ids")
+    List<DatosNombreUsuario> buscarNombresPorIds(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,307 @@
+package alura.cursos.forohub.infra.busqueda;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice invertido Lucene en proceso sobre título y mensaje de los tópicos.
+ * Guarda los campos de DatosListadoTopico, de modo que las búsquedas no consultan MySQL.
+ * Se actualiza de forma incremental con los EventoTopico después del commit y se
+ * reconstruye desde MySQL al arrancar (ver ReconstructorIndiceTopicos).
+ * <p>
+ * Los cambios incrementales se confirman en disco cada {@code forohub.busqueda.intervalo-confirmacion}. El último
+ * commit lleva en sus datos de usuario si el índice se cerró limpiamente y el formato de los documentos: tras una
+ * caída o un cambio de formato se reconstruye aunque no esté vacío. Durante una reconstrucción los eventos se
+ * guardan y se aplican al terminar, para que una fila leída antes del cambio no pise el documento más reciente
+ * ni vuelva a añadir un tópico recién eliminado.
+ */
+@Component
+public class IndiceTopicos implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceTopicos.class);
+    private static final int MAX_RESULTADOS = 10_000;
+
+    private static final String ID = "id";
+    private static final String TITULO = "titulo";
+    private static final String MENSAJE = "mensaje";
+    private static final String FECHA = "fechaCreacion";
+    private static final String STATUS = "status";
+    private static final String AUTOR = "autorNombre";
+    private static final String CURSO = "cursoNombre";
+    private static final String TOTAL_RESPUESTAS = "totalRespuestas";
+    private static final String VERSION = "version";
+    private static final String ANIO = "anio";
+
+    // Datos de usuario del commit; FORMATO cambia cuando cambian los campos indexados
+    private static final String CIERRE_LIMPIO = "cierreLimpio";
+    private static final String CLAVE_FORMATO = "formato";
+    private static final String FORMATO = "2";
+
+    private final Directory directorio;
+    private final Analyzer analyzer = new SpanishAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final AtomicBoolean pendienteRefrescar = new AtomicBoolean();
+    private final boolean reutilizable;
+
+    private final Object cerrojo = new Object();
+    private volatile List<EventoTopico> eventosDuranteReconstruccion;
+
+    public IndiceTopicos(@Value("${forohub.busqueda.directorio:}") String rutaDirectorio) throws IOException {
+        this.directorio = rutaDirectorio.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(rutaDirectorio));
+        this.writer = new IndexWriter(directorio, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        var datosCommit = new HashMap<String, String>();
+        var anteriores = writer.getLiveCommitData();
+        if (anteriores != null) {
+            anteriores.forEach(entrada -> datosCommit.put(entrada.getKey(), entrada.getValue()));
+        }
+        this.reutilizable = "true".equals(datosCommit.get(CIERRE_LIMPIO))
+                && FORMATO.equals(datosCommit.get(CLAVE_FORMATO));
+        // Hasta el cierre ordenado, cualquier commit queda marcado como no limpio
+        writer.setLiveCommitData(Map.of(CIERRE_LIMPIO, "false", CLAVE_FORMATO, FORMATO).entrySet());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarTopico(EventoTopico evento) {
+        synchronized (cerrojo) {
+            if (eventosDuranteReconstruccion != null) {
+                eventosDuranteReconstruccion.add(evento);
+                return;
+            }
+        }
+        aplicar(evento);
+    }
+
+    private void aplicar(EventoTopico evento) {
+        if (evento.tipo() == TipoEventoTopico.ELIMINADO || evento.tipo() == TipoEventoTopico.ARCHIVADO) {
+            eliminar(evento.topicoId());
+        } else {
+            indexar(evento.datos());
+        }
+    }
+
+    /**
+     * Empieza una reconstrucción: vacía el índice (sin que lo vean las búsquedas, que siguen sobre el último
+     * lector abierto hasta {@link #terminarReconstruccion}) y retiene los eventos que lleguen mientras tanto.
+     */
+    public void iniciarReconstruccion() throws IOException {
+        synchronized (cerrojo) {
+            eventosDuranteReconstruccion = new ArrayList<>();
+        }
+        searcherManager.maybeRefresh();
+        writer.deleteAll();
+    }
+
+    /**
+     * Añade un tópico leído de MySQL durante la reconstrucción.
+     */
+    public void indexarReconstruccion(DatosListadoTopico topico) throws IOException {
+        writer.updateDocument(new Term(ID, topico.id().toString()), documento(topico));
+    }
+
+    /**
+     * Aplica en orden los eventos retenidos, confirma y publica el índice reconstruido. También se llama si la
+     * reconstrucción falla, para no seguir reteniendo eventos; en ese caso el índice no queda marcado como
+     * limpio y se vuelve a reconstruir en el siguiente arranque.
+     */
+    public void terminarReconstruccion() throws IOException {
+        synchronized (cerrojo) {
+            eventosDuranteReconstruccion.forEach(this::aplicar);
+            eventosDuranteReconstruccion = null;
+        }
+        confirmar();
+    }
+
+    /**
+     * El índice de disco no vale como está: vacío, sin cierre limpio (cambios perdidos) o de otro formato.
+     */
+    public boolean necesitaReconstruccion() throws IOException {
+        return estaVacio() || !reutilizable;
+    }
+
+    @Scheduled(fixedDelayString = "${forohub.busqueda.intervalo-confirmacion:30s}",
+            initialDelayString = "${forohub.busqueda.intervalo-confirmacion:30s}")
+    public void confirmarPeriodicamente() {
+        synchronized (cerrojo) {
+            if (eventosDuranteReconstruccion != null) {
+                // El commit de una reconstrucción a medias dejaría en disco un índice incompleto
+                return;
+            }
+        }
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.error("No se pudieron confirmar los cambios del índice de búsqueda", e);
+        }
+    }
+
+    public void indexar(DatosListadoTopico topico) {
+        try {
+            writer.updateDocument(new Term(ID, topico.id().toString()), documento(topico));
+            pendienteRefrescar.set(true);
+        } catch (IOException e) {
+            log.error("No se pudo indexar el tópico {}", topico.id(), e);
+        }
+    }
+
+    public void eliminar(Long id) {
+        try {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+            pendienteRefrescar.set(true);
+        } catch (IOException e) {
+            log.error("No se pudo eliminar del índice el tópico {}", id, e);
+        }
+    }
+
+    public void confirmar() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    public boolean estaVacio() throws IOException {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    public Page<DatosListadoTopico> buscar(String texto, Pageable paginacion) {
+        return buscar(texto, null, null, paginacion);
+    }
+
+    /**
+     * Búsqueda por relevancia (título pesa el doble que el mensaje); todas las palabras deben aparecer.
+     * Curso (nombre exacto) y año de creación, si vienen, filtran sin afectar a la puntuación.
+     */
+    public Page<DatosListadoTopico> buscar(String texto, String curso, Integer anio, Pageable paginacion) {
+        int hasta = (int) Math.min(MAX_RESULTADOS, paginacion.getOffset() + paginacion.getPageSize());
+        try {
+            refrescarSiHaceFalta();
+            var searcher = searcherManager.acquire();
+            try {
+                var resultados = searcher.search(consulta(texto, curso, anio),
+                        new TopScoreDocCollectorManager(hasta, MAX_RESULTADOS));
+                var almacenados = searcher.storedFields();
+                var contenido = new ArrayList<DatosListadoTopico>();
+                for (int i = (int) paginacion.getOffset(); i < resultados.scoreDocs.length; i++) {
+                    contenido.add(datos(almacenados.document(resultados.scoreDocs[i].doc)));
+                }
+                return new PageImpl<>(contenido, paginacion, resultados.totalHits.value());
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error consultando el índice de búsqueda", e);
+        }
+    }
+
+    private Query consulta(String texto, String curso, Integer anio) {
+        var parser = new MultiFieldQueryParser(new String[]{TITULO, MENSAJE}, analyzer, Map.of(TITULO, 2f, MENSAJE, 1f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        Query textual;
+        try {
+            textual = parser.parse(QueryParser.escape(texto));
+        } catch (ParseException e) {
+            return new MatchNoDocsQuery();
+        }
+        if (curso == null && anio == null) {
+            return textual;
+        }
+        var consulta = new BooleanQuery.Builder().add(textual, BooleanClause.Occur.MUST);
+        if (curso != null) {
+            consulta.add(new TermQuery(new Term(CURSO, curso)), BooleanClause.Occur.FILTER);
+        }
+        if (anio != null) {
+            consulta.add(IntPoint.newExactQuery(ANIO, anio), BooleanClause.Occur.FILTER);
+        }
+        return consulta.build();
+    }
+
+    private void refrescarSiHaceFalta() throws IOException {
+        // Durante una reconstrucción no se refresca: el lector actual conserva el índice anterior completo
+        if (eventosDuranteReconstruccion == null && pendienteRefrescar.compareAndSet(true, false)) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    private static Document documento(DatosListadoTopico topico) {
+        var doc = new Document();
+        doc.add(new StringField(ID, topico.id().toString(), Field.Store.YES));
+        doc.add(new TextField(TITULO, topico.titulo(), Field.Store.YES));
+        doc.add(new TextField(MENSAJE, topico.mensaje(), Field.Store.YES));
+        doc.add(new StoredField(FECHA, topico.fechaCreacion().toString()));
+        doc.add(new StoredField(STATUS, topico.status().name()));
+        doc.add(new StoredField(AUTOR, topico.autorNombre()));
+        doc.add(new StringField(CURSO, topico.cursoNombre(), Field.Store.YES));
+        doc.add(new IntPoint(ANIO, topico.fechaCreacion().getYear()));
+        doc.add(new StoredField(TOTAL_RESPUESTAS, topico.totalRespuestas()));
+        doc.add(new StoredField(VERSION, topico.version()));
+        return doc;
+    }
+
+    private static DatosListadoTopico datos(Document doc) {
+        return new DatosListadoTopico(
+                Long.valueOf(doc.get(ID)),
+                doc.get(TITULO),
+                doc.get(MENSAJE),
+                LocalDateTime.parse(doc.get(FECHA)),
+                StatusTopico.valueOf(doc.get(STATUS)),
+                doc.get(AUTOR),
+                doc.get(CURSO),
+                doc.getField(TOTAL_RESPUESTAS).numericValue().intValue(),
+                doc.getField(VERSION).numericValue().longValue());
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        synchronized (cerrojo) {
+            if (eventosDuranteReconstruccion == null) {
+                writer.setLiveCommitData(Map.of(CIERRE_LIMPIO, "true", CLAVE_FORMATO, FORMATO).entrySet());
+                writer.commit();
+            }
+        }
+        searcherManager.close();
+        writer.close();
+        directorio.close();
+    }
+}
@@ -0,0 +1,82 @@
+package alura.cursos.forohub.infra.busqueda;
+
+import alura.cursos.forohub.domain.topico.CursorPaginacion;
+import alura.cursos.forohub.domain.topico.TopicoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reconstruye el índice de búsqueda desde MySQL al arrancar, en segundo plano y por lotes
+ * con paginación por cursor, para no bloquear el arranque ni cargar todo en memoria.
+ * Se reconstruye si se pide siempre o si el índice no es reutilizable (vacío, tras una caída o de otro formato).
+ */
+@Component
+public class ReconstructorIndiceTopicos {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconstructorIndiceTopicos.class);
+
+    private final IndiceTopicos indice;
+    private final TopicoRepository topicoRepository;
+    private final boolean siempre;
+    private final int tamanioLote;
+
+    public ReconstructorIndiceTopicos(IndiceTopicos indice,
+                                      TopicoRepository topicoRepository,
+                                      @Value("${forohub.busqueda.reconstruir-al-iniciar:false}") boolean siempre,
+                                      @Value("${forohub.busqueda.tamanio-lote:1000}") int tamanioLote) {
+        this.indice = indice;
+        this.topicoRepository = topicoRepository;
+        this.siempre = siempre;
+        this.tamanioLote = tamanioLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void alIniciar() throws IOException {
+        if (siempre || indice.necesitaReconstruccion()) {
+            Thread.ofVirtual().name("reconstruccion-indice").start(this::reconstruir);
+        }
+    }
+
+    public void reconstruir() {
+        long inicio = System.currentTimeMillis();
+        long total = 0;
+        var posicion = CursorPaginacion.desde(null);
+        try {
+            indice.iniciarReconstruccion();
+        } catch (IOException e) {
+            log.error("Error reconstruyendo el índice de búsqueda", e);
+            return;
+        }
+        try {
+            while (true) {
+                var lote = topicoRepository.listarDespuesDe(posicion.fechaCreacion(), posicion.id(),
+                        CursorPaginacion.FECHA_MAXIMA, Limit.of(tamanioLote));
+                for (var topico : lote) {
+                    indice.indexarReconstruccion(topico);
+                }
+                total += lote.size();
+                if (lote.size() < tamanioLote) {
+                    break;
+                }
+                var ultimo = lote.get(lote.size() - 1);
+                posicion = new CursorPaginacion(ultimo.fechaCreacion(), ultimo.id());
+            }
+            log.info("Índice de búsqueda reconstruido: {} tópicos en {} ms", total, System.currentTimeMillis() - inicio);
+        } catch (Exception e) {
+            log.error("Error reconstruyendo el índice de búsqueda", e);
+        } finally {
+            try {
+                indice.terminarReconstruccion();
+            } catch (IOException e) {
+                log.error("No se pudo confirmar el índice de búsqueda reconstruido", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.time.Duration;
+
+/**
+ * Modo opcional con hilos virtuales (spring.threads.virtual.enabled=true): Spring Boot ejecuta
+ * las peticiones de Tomcat y las tareas @Async en hilos virtuales. Aquí se añaden los
+ * resguardos para ese modo: un semáforo delante del pool de Hikari y el diagnóstico de pinning.
+ */
+@Configuration
+@EnableAsync
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConfiguracionHilosVirtuales {
+
+    @Bean
+    public static BeanPostProcessor limitadorConexiones(
+            @Value("${forohub.virtual.espera-conexion:5s}") Duration esperaMaxima) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new DataSourceLimitado(hikari, hikari.getMaximumPoolSize(), esperaMaxima);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public DiagnosticoPinning diagnosticoPinning(
+            @Value("${forohub.virtual.diagnostico-pinning:false}") boolean habilitado,
+            @Value("${forohub.virtual.umbral-pinning:20ms}") Duration umbral) {
+        return new DiagnosticoPinning(habilitado, umbral);
+    }
+}
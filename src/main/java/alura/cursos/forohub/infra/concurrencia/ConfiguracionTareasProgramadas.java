@@ -0,0 +1,23 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hilos del programador de tareas @Scheduled. Spring Boot usa por defecto uno solo: mientras el cierre de
+ * inactivos o el archivado recorren la tabla (con pausas entre lotes), el volcado de vistas, el latido del
+ * SSE y la confirmación del índice quedarían esperando. Se ajusta el pool que configura Spring Boot, así que
+ * {@code spring.task.scheduling.pool.size} sigue mandando; por defecto hay un hilo por tarea programada.
+ * Con hilos virtuales Spring Boot usa SimpleAsyncTaskScheduler (un hilo por ejecución) y esto no aplica.
+ */
+@Configuration
+public class ConfiguracionTareasProgramadas {
+
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer hilosTareasProgramadas(
+            @Value("${spring.task.scheduling.pool.size:5}") int hilos) {
+        return programador -> programador.setPoolSize(hilos);
+    }
+}
@@ -0,0 +1,98 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que limita con un semáforo justo (FIFO) cuántos hilos pueden pedir conexión a la vez.
+ * Con hilos virtuales puede haber miles de peticiones concurrentes: en lugar de que todas compitan
+ * dentro del pool de Hikari, esperan en el semáforo y fallan rápido al superar el tiempo máximo.
+ * El permiso se libera al cerrar la conexión.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+    private final Duration esperaMaxima;
+
+    public DataSourceLimitado(DataSource destino, int maxConexiones, Duration esperaMaxima) {
+        super(destino);
+        this.permisos = new Semaphore(maxConexiones, true);
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection());
+        } catch (Throwable e) {
+            // Cualquier fallo del pool (también un Error) devuelve el permiso: si no, el semáforo se agota
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return envolver(super.getConnection(username, password));
+        } catch (Throwable e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    public int permisosDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    public int hilosEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() {
+        try {
+            if (!permisos.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CannotGetJdbcConnectionException(
+                        "No hay conexiones disponibles tras esperar " + esperaMaxima.toMillis() + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotGetJdbcConnectionException("Interrumpido esperando una conexión");
+        }
+    }
+
+    private Connection envolver(Connection conexion) {
+        var liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    if ("close".equals(metodo.getName()) && liberada.compareAndSet(false, true)) {
+                        try {
+                            return metodo.invoke(conexion, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permisos.release();
+                        }
+                    }
+                    try {
+                        return metodo.invoke(conexion, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,76 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Escucha el evento JFR jdk.VirtualThreadPinned y registra dónde un hilo virtual quedó
+ * anclado a su hilo portador (bloques synchronized o código nativo). Marca especialmente
+ * los que ocurren en la ruta JDBC (driver de MySQL, Hikari, Hibernate).
+ */
+public class DiagnosticoPinning implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoPinning.class);
+    private static final String[] PAQUETES_JDBC = {"com.mysql.", "com.zaxxer.hikari.", "org.hibernate.", "java.sql."};
+    private static final int MAX_FRAMES = 12;
+
+    private final boolean habilitado;
+    private final Duration umbral;
+    private RecordingStream stream;
+
+    public DiagnosticoPinning(boolean habilitado, Duration umbral) {
+        this.habilitado = habilitado;
+        this.umbral = umbral;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!habilitado) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(umbral).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+        log.info("Diagnóstico de pinning de hilos virtuales activo (umbral {} ms)", umbral.toMillis());
+    }
+
+    private void registrar(RecordedEvent evento) {
+        var pila = evento.getStackTrace();
+        if (pila == null) {
+            return;
+        }
+        boolean rutaJdbc = pila.getFrames().stream().anyMatch(DiagnosticoPinning::esJdbc);
+        String frames = pila.getFrames().stream()
+                .limit(MAX_FRAMES)
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        log.warn("Hilo virtual anclado {} ms{}:\n\tat {}",
+                evento.getDuration().toMillis(), rutaJdbc ? " en la ruta JDBC" : "", frames);
+    }
+
+    private static boolean esJdbc(RecordedFrame frame) {
+        String clase = frame.getMethod().getType().getName();
+        for (String paquete : PAQUETES_JDBC) {
+            if (clase.startsWith(paquete)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
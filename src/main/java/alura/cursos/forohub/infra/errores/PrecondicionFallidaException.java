@@ -0,0 +1,14 @@
+package alura.cursos.forohub.infra.errores;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+/**
+ * La versión indicada por el cliente (If-Match) no es la actual: se responde 412 en lugar del 409 del bloqueo
+ * optimista, que se reserva para las ediciones concurrentes detectadas al guardar.
+ */
+public class PrecondicionFallidaException extends OptimisticLockingFailureException {
+
+    public PrecondicionFallidaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -1,8 +1,13 @@
 package alura.cursos.forohub.infra.errores;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +38,37 @@ public class TratadorDeErrores {
                 .body(new DatosErrorValidacion("notFound", e.getMessage()));
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<DatosErrorValidacion> tratarError409(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new DatosErrorValidacion("conflicto", "El registro viola una restricción de unicidad o integridad"));
+    }
+
+    @ExceptionHandler(PrecondicionFallidaException.class)
+    public ResponseEntity<DatosErrorValidacion> tratarError412(PrecondicionFallidaException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(new DatosErrorValidacion("version", e.getMessage()));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<DatosErrorValidacion> tratarErrorVersion(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new DatosErrorValidacion("version", "El tópico fue modificado por otra petición, vuelve a consultarlo"));
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<DatosErrorValidacion> tratarError401(AuthenticationException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new DatosErrorValidacion("autenticacion", "Credenciales inválidas"));
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<DatosErrorValidacion> tratarError503(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new DatosErrorValidacion("sobrecarga", "Servidor ocupado, intenta de nuevo en unos segundos"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<DatosErrorValidacion> tratarError500(Exception e) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
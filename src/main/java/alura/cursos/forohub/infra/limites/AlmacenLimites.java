@@ -0,0 +1,17 @@
+package alura.cursos.forohub.infra.limites;
+
+/**
+ * Estado de los cubos de tokens. La implementación por defecto vive en memoria de cada nodo
+ * ({@link AlmacenLimitesMemoria}); para compartir los límites entre varias instancias basta con
+ * declarar un bean que implemente esta interfaz sobre un almacén común (por ejemplo Redis, con el
+ * mismo algoritmo en un script atómico).
+ */
+public interface AlmacenLimites {
+
+    /**
+     * Consume un token del cubo {@code clave} según {@code limite}.
+     *
+     * @return 0 si la petición se permite, o los nanosegundos que faltan para el siguiente token
+     */
+    long consumir(String clave, Limite limite);
+}
@@ -0,0 +1,52 @@
+package alura.cursos.forohub.infra.limites;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubos de tokens en memoria sin bloqueos, con el algoritmo GCRA: cada cubo es un único AtomicLong
+ * con el instante teórico de la siguiente llegada, que se avanza un intervalo por petición con CAS.
+ * La petición se rechaza si ese instante queda más de un periodo por delante del reloj.
+ * <p>
+ * Los cubos inactivos durante {@code inactividad} se descartan (equivalen a un cubo lleno si la
+ * inactividad supera el periodo más largo), y {@code maxClaves} acota la memoria ante claves falsas.
+ */
+public class AlmacenLimitesMemoria implements AlmacenLimites {
+
+    private final Cache<String, AtomicLong> cubos;
+    private final LongSupplier reloj;
+
+    public AlmacenLimitesMemoria(Duration inactividad, long maxClaves) {
+        this(inactividad, maxClaves, System::nanoTime);
+    }
+
+    AlmacenLimitesMemoria(Duration inactividad, long maxClaves, LongSupplier reloj) {
+        this.cubos = Caffeine.newBuilder()
+                .expireAfterAccess(inactividad)
+                .maximumSize(maxClaves)
+                .build();
+        this.reloj = reloj;
+    }
+
+    @Override
+    public long consumir(String clave, Limite limite) {
+        long ahora = reloj.getAsLong();
+        var llegadaTeorica = cubos.get(limite.nombre() + ':' + clave, k -> new AtomicLong(ahora));
+        long rafaga = limite.periodo().toNanos();
+        while (true) {
+            long actual = llegadaTeorica.get();
+            long siguiente = Math.max(actual, ahora) + limite.intervaloNanos();
+            long permitidaDesde = siguiente - rafaga;
+            if (permitidaDesde > ahora) {
+                return permitidaDesde - ahora;
+            }
+            if (llegadaTeorica.compareAndSet(actual, siguiente)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package alura.cursos.forohub.infra.limites;
+
+import alura.cursos.forohub.infra.security.UsuarioPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Va después de SecurityFilter: limita POST/PUT/PATCH/DELETE sobre /topicos por usuario autenticado.
+ * El usuario sale del token ya verificado, de modo que nadie puede gastar el cubo de otro
+ * enviando un token falso con su id. Las peticiones sin autenticar siguen y las rechaza la autorización.
+ */
+public class FiltroLimiteEscrituras extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_ESCRITURA = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final LimitadorTasa limitadorTasa;
+
+    public FiltroLimiteEscrituras(LimitadorTasa limitadorTasa) {
+        this.limitadorTasa = limitadorTasa;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !METODOS_ESCRITURA.contains(request.getMethod()) || !request.getServletPath().startsWith("/topicos");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        var autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion != null && autenticacion.getPrincipal() instanceof UsuarioPrincipal principal) {
+            long espera = limitadorTasa.escritura(principal.id());
+            if (espera > 0) {
+                LimitadorTasa.rechazar(response, espera);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,172 @@
+package alura.cursos.forohub.infra.limites;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Va antes de SecurityFilter: limita POST /login por IP y por correoElectronico antes de la
+ * consulta del usuario y del hash BCrypt. Lee el cuerpo completo para obtener el correo y lo reenvía
+ * intacto al controlador desde memoria. Un cuerpo de más de {@value #MAX_CUERPO} bytes se rechaza con
+ * 413: si se dejara pasar sin correo, rellenarlo bastaría para esquivar el límite por correo.
+ */
+public class FiltroLimiteLogin extends OncePerRequestFilter {
+
+    static final int MAX_CUERPO = 4096;
+    private static final byte[] CUERPO_413 = """
+            {"campo":"cuerpo","error":"El cuerpo de la petición es demasiado grande"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final LimitadorTasa limitadorTasa;
+    private final ObjectMapper objectMapper;
+
+    public FiltroLimiteLogin(LimitadorTasa limitadorTasa, ObjectMapper objectMapper) {
+        this.limitadorTasa = limitadorTasa;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !"/login".equals(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getContentLengthLong() > MAX_CUERPO) {
+            rechazarCuerpo(response);
+            return;
+        }
+        // Menos de MAX_CUERPO + 1 bytes leídos: el cuerpo original ya está agotado
+        var cuerpo = request.getInputStream().readNBytes(MAX_CUERPO + 1);
+        if (cuerpo.length > MAX_CUERPO) {
+            rechazarCuerpo(response);
+            return;
+        }
+
+        long espera = limitadorTasa.intentoLogin(request.getRemoteAddr(), correo(cuerpo));
+        if (espera > 0) {
+            LimitadorTasa.rechazar(response, espera);
+            return;
+        }
+        filterChain.doFilter(new PeticionReleida(request, cuerpo), response);
+    }
+
+    private static void rechazarCuerpo(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.CONTENT_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(CUERPO_413.length);
+        response.getOutputStream().write(CUERPO_413);
+    }
+
+    private String correo(byte[] cuerpo) {
+        try {
+            var nodo = objectMapper.readTree(cuerpo).get("correoElectronico");
+            return nodo != null && nodo.isString() ? nodo.asString() : null;
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    // Entrega el cuerpo ya leído, completo y en memoria: siempre listo, y terminado al agotar el búfer
+    private static class PeticionReleida extends HttpServletRequestWrapper {
+
+        private final byte[] cuerpo;
+        private ServletInputStream entrada;
+        private BufferedReader lector;
+
+        PeticionReleida(HttpServletRequest request, byte[] cuerpo) {
+            super(request);
+            this.cuerpo = cuerpo;
+        }
+
+        @Override
+        public int getContentLength() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return cuerpo.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (entrada == null) {
+                entrada = new EntradaEnMemoria(new ByteArrayInputStream(cuerpo));
+            }
+            return entrada;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (lector == null) {
+                var codificacion = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+                lector = new BufferedReader(new InputStreamReader(getInputStream(), codificacion));
+            }
+            return lector;
+        }
+    }
+
+    private static class EntradaEnMemoria extends ServletInputStream {
+
+        private final ByteArrayInputStream bytes;
+
+        EntradaEnMemoria(ByteArrayInputStream bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int cantidad) {
+            return bytes.read(destino, desde, cantidad);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return bytes.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        // Lectura asíncrona: todos los datos ya están disponibles, se avisa de inmediato
+        @Override
+        public void setReadListener(ReadListener listener) {
+            try {
+                if (!isFinished()) {
+                    listener.onDataAvailable();
+                }
+                if (isFinished()) {
+                    listener.onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package alura.cursos.forohub.infra.limites;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límites de tasa de POST /login (por IP y por correo) y de las escrituras sobre /topicos
+ * (por usuario). Los aplican {@link FiltroLimiteLogin} y {@link FiltroLimiteEscrituras}; el estado
+ * de los cubos está en el {@link AlmacenLimites} declarado como bean o, si no hay, en memoria.
+ */
+@Component
+public class LimitadorTasa {
+
+    private static final byte[] CUERPO_429 = """
+            {"campo":"limite","error":"Demasiadas peticiones, intenta de nuevo más tarde"}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AlmacenLimites almacen;
+    private final boolean habilitado;
+    private final Limite loginIp;
+    private final Limite loginCorreo;
+    private final Limite escrituraUsuario;
+    private final Map<String, LongAdder> rechazos;
+
+    @Autowired
+    public LimitadorTasa(ObjectProvider<AlmacenLimites> almacenes,
+                         @Value("${forohub.limites.habilitado:true}") boolean habilitado,
+                         @Value("${forohub.limites.login-ip.capacidad:20}") int capacidadLoginIp,
+                         @Value("${forohub.limites.login-ip.periodo:1m}") Duration periodoLoginIp,
+                         @Value("${forohub.limites.login-correo.capacidad:5}") int capacidadLoginCorreo,
+                         @Value("${forohub.limites.login-correo.periodo:1m}") Duration periodoLoginCorreo,
+                         @Value("${forohub.limites.escritura-usuario.capacidad:30}") int capacidadEscritura,
+                         @Value("${forohub.limites.escritura-usuario.periodo:1m}") Duration periodoEscritura,
+                         @Value("${forohub.limites.memoria.inactividad:1h}") Duration inactividad,
+                         @Value("${forohub.limites.memoria.max-claves:100000}") long maxClaves) {
+        this(almacenes.getIfAvailable(() -> new AlmacenLimitesMemoria(inactividad, maxClaves)), habilitado,
+                new Limite("login-ip", capacidadLoginIp, periodoLoginIp),
+                new Limite("login-correo", capacidadLoginCorreo, periodoLoginCorreo),
+                new Limite("escritura-usuario", capacidadEscritura, periodoEscritura));
+    }
+
+    LimitadorTasa(AlmacenLimites almacen, boolean habilitado, Limite loginIp, Limite loginCorreo, Limite escrituraUsuario) {
+        this.almacen = almacen;
+        this.habilitado = habilitado;
+        this.loginIp = loginIp;
+        this.loginCorreo = loginCorreo;
+        this.escrituraUsuario = escrituraUsuario;
+        this.rechazos = Map.of(
+                loginIp.nombre(), new LongAdder(),
+                loginCorreo.nombre(), new LongAdder(),
+                escrituraUsuario.nombre(), new LongAdder());
+    }
+
+    /**
+     * @return 0 si el intento de login se permite, o los nanosegundos de espera
+     */
+    public long intentoLogin(String ip, String correo) {
+        if (!habilitado) {
+            return 0;
+        }
+        // Primero la IP: una ráfaga desde una sola dirección no llega a gastar los cubos de los correos
+        long espera = consumir(ip, loginIp);
+        if (espera == 0 && correo != null && !correo.isBlank()) {
+            espera = consumir(correo.trim().toLowerCase(Locale.ROOT), loginCorreo);
+        }
+        return espera;
+    }
+
+    public long escritura(Long usuarioId) {
+        return habilitado ? consumir(usuarioId.toString(), escrituraUsuario) : 0;
+    }
+
+    public Map<String, LongAdder> rechazos() {
+        return rechazos;
+    }
+
+    private long consumir(String clave, Limite limite) {
+        long espera = almacen.consumir(clave, limite);
+        if (espera > 0) {
+            rechazos.get(limite.nombre()).increment();
+        }
+        return espera;
+    }
+
+    // 429 con cuerpo constante: el rechazo no debe costar más que atender la petición
+    static void rechazar(HttpServletResponse response, long esperaNanos) throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(CUERPO_429.length);
+        response.getOutputStream().write(CUERPO_429);
+    }
+}
@@ -0,0 +1,14 @@
+package alura.cursos.forohub.infra.limites;
+
+import java.time.Duration;
+
+/**
+ * Cubo de tokens: hasta {@code capacidad} peticiones de golpe y, agotado, una cada
+ * {@code periodo / capacidad}. {@code nombre} separa las claves de cada límite en el almacén.
+ */
+public record Limite(String nombre, int capacidad, Duration periodo) {
+
+    public long intervaloNanos() {
+        return periodo.toNanos() / capacidad;
+    }
+}
@@ -0,0 +1,140 @@
+package alura.cursos.forohub.infra.metricas;
+
+import alura.cursos.forohub.domain.topico.ArchivoTopicos;
+import alura.cursos.forohub.domain.topico.CierreTopicosInactivos;
+import alura.cursos.forohub.domain.topico.ContadorVistas;
+import alura.cursos.forohub.infra.limites.LimitadorTasa;
+import alura.cursos.forohub.infra.security.CacheTokens;
+import alura.cursos.forohub.infra.stream.DifusorTopicos;
+import alura.cursos.forohub.infra.web.CacheRespuestas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas propias expuestas en /actuator/prometheus, además de las automáticas de Spring Boot
+ * (repositorios en spring.data.repository.invocations, @Timed de TopicoService y TokenService,
+ * pool de Hikari y peticiones HTTP). Todas son contadores o timers sin histogramas por defecto.
+ */
+@Configuration
+public class ConfiguracionMetricas {
+
+    @Bean
+    public HibernatePropertiesCustomizer inspeccionSentencias(
+            @Value("${forohub.jdbc.consulta-lenta:200ms}") Duration umbralConsultaLenta) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSentencias());
+            // Hibernate registra en org.hibernate.SQL_SLOW las consultas que superan el umbral
+            propiedades.put(AvailableSettings.LOG_SLOW_QUERY, umbralConsultaLenta.toMillis());
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasCacheTokens(CacheTokens cacheTokens) {
+        return registry -> {
+            FunctionCounter.builder("forohub.jwt.cache.aciertos", cacheTokens, CacheTokens::aciertos)
+                    .description("Tokens resueltos desde la caché sin verificar la firma")
+                    .register(registry);
+            FunctionCounter.builder("forohub.jwt.cache.fallos", cacheTokens, CacheTokens::fallos)
+                    .register(registry);
+            Gauge.builder("forohub.jwt.cache.tamanio", cacheTokens, CacheTokens::tamanio)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Aciertos, fallos, escrituras y expulsiones de cada región de la caché de segundo nivel y de consultas de
+     * Hibernate (cache_gets_total{cache="...", result="hit|miss"}, cache_puts_total...), leídos de las
+     * estadísticas JCache que ya publica Caffeine por JMX. Con la caché deshabilitada no registra nada.
+     */
+    @Bean
+    public MeterBinder metricasCacheHibernate(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            var regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache().getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jcache) {
+                var cacheManager = jcache.getCacheManager();
+                for (var region : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasStream(DifusorTopicos difusorTopicos) {
+        return registry -> Gauge.builder("forohub.stream.suscriptores", difusorTopicos, DifusorTopicos::suscriptores)
+                .description("Conexiones SSE abiertas en GET /topicos/stream")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder metricasVistas(ContadorVistas contadorVistas) {
+        return registry -> {
+            Gauge.builder("forohub.vistas.pendientes", contadorVistas, ContadorVistas::pendientes)
+                    .description("Tópicos con vistas en memoria aún no volcadas a la base de datos")
+                    .register(registry);
+            Gauge.builder("forohub.vistas.ranking", contadorVistas, ContadorVistas::seguidosEnRanking)
+                    .description("Tópicos seguidos por el ranking de populares")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasLimites(LimitadorTasa limitadorTasa) {
+        return registry -> limitadorTasa.rechazos().forEach((limite, rechazos) ->
+                FunctionCounter.builder("forohub.limites.rechazos", rechazos, LongAdder::sum)
+                        .description("Peticiones rechazadas con 429 por límite de tasa")
+                        .tag("limite", limite)
+                        .register(registry));
+    }
+
+    @Bean
+    public MeterBinder metricasCacheRespuestas(CacheRespuestas cacheRespuestas) {
+        return registry -> {
+            FunctionCounter.builder("forohub.cache.respuestas.aciertos", cacheRespuestas, CacheRespuestas::aciertos)
+                    .register(registry);
+            FunctionCounter.builder("forohub.cache.respuestas.fallos", cacheRespuestas, CacheRespuestas::fallos)
+                    .register(registry);
+            FunctionCounter.builder("forohub.cache.respuestas.agrupadas", cacheRespuestas, CacheRespuestas::agrupadas)
+                    .description("Peticiones que esperaron la carga en curso de otra sobre la misma clave")
+                    .register(registry);
+            Gauge.builder("forohub.cache.respuestas.bytes", cacheRespuestas, CacheRespuestas::bytes)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasArchivo(ArchivoTopicos archivoTopicos) {
+        return registry -> FunctionCounter.builder("forohub.archivo.topicos", archivoTopicos, ArchivoTopicos::archivados)
+                .description("Tópicos cerrados movidos a topico_archivo")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder metricasCierre(CierreTopicosInactivos cierre) {
+        return registry -> {
+            FunctionCounter.builder("forohub.cierre.topicos", cierre, CierreTopicosInactivos::cerrados)
+                    .description("Tópicos cerrados por inactividad")
+                    .register(registry);
+            Gauge.builder("forohub.cierre.filas.por.segundo", cierre, CierreTopicosInactivos::filasPorSegundo)
+                    .description("Ritmo de la última ejecución del cierre por inactividad, pausas incluidas")
+                    .register(registry);
+            Gauge.builder("forohub.cierre.ultimo.id", cierre, CierreTopicosInactivos::ultimoId)
+                    .description("Último id de topico recorrido por el cierre por inactividad (0 al terminar)")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package alura.cursos.forohub.infra.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * StatementInspector de Hibernate que cuenta las sentencias JDBC preparadas en el hilo actual.
+ * No modifica el SQL; el contador se reinicia al comenzar cada petición (FiltroSentenciasPorPeticion).
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CONTADOR = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONTADOR.get()[0]++;
+        return sql;
+    }
+
+    static void reiniciar() {
+        CONTADOR.get()[0] = 0;
+    }
+
+    static int actual() {
+        return CONTADOR.get()[0];
+    }
+}
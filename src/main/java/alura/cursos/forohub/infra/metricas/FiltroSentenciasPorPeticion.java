@@ -0,0 +1,56 @@
+package alura.cursos.forohub.infra.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias JDBC ejecutó cada petición HTTP (forohub.jdbc.sentencias), por
+ * método y patrón de URI. Va primero en la cadena para incluir las consultas de los filtros de seguridad.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroSentenciasPorPeticion extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+
+    public FiltroSentenciasPorPeticion(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSentencias.reiniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // El patrón (/topicos/{id}) y no la URI real, para acotar la cardinalidad de las etiquetas
+            var patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("forohub.jdbc.sentencias")
+                    .description("Sentencias JDBC ejecutadas por petición HTTP")
+                    .tag("method", request.getMethod())
+                    .tag("uri", patron != null ? patron.toString() : "UNKNOWN")
+                    .register(registry)
+                    .record(ContadorSentencias.actual());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
@@ -0,0 +1,88 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel y de consultas de Hibernate (JCache sobre Caffeine, en proceso) para los datos de
+ * referencia: Curso (entidad, id natural y CursoRepository.buscarIdPorNombre), Perfil y Usuario.perfiles.
+ * <p>
+ * Las regiones se crean aquí y no en application.conf: Caffeine busca la configuración de cada caché con
+ * la ruta "caffeine.jcache." + nombre, y en los nombres de región de Hibernate el "." separa rutas y el
+ * "##" de "Curso##NaturalId" no es una ruta válida. La expiración tras escritura acota cuánto tardan en
+ * verse los cambios hechos fuera de JPA (scripts SQL, otro nodo); los hechos por JPA invalidan al momento.
+ */
+@Configuration
+public class ConfiguracionCacheHibernate {
+
+    static final URI URI_REGIONES = URI.create("forohub:hibernate");
+
+    static final List<String> REGIONES = List.of(
+            Curso.class.getName(),
+            Curso.class.getName() + "##NaturalId",
+            Perfil.class.getName(),
+            Usuario.class.getName() + ".perfiles",
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(
+            @Value("${forohub.cache.segundo-nivel:true}") boolean habilitada,
+            @Value("${forohub.cache.referencia.max-entradas:1000}") long maxEntradas,
+            @Value("${forohub.cache.referencia.expiracion:10m}") Duration expiracion) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, habilitada);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, habilitada);
+            if (habilitada) {
+                propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                propiedades.put(ConfigSettings.CACHE_MANAGER, crearRegiones(maxEntradas, expiracion));
+                // Una región nueva sin configurar aquí funciona con los valores por defecto, pero se avisa en el log
+                propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            }
+        };
+    }
+
+    private static CacheManager crearRegiones(long maxEntradas, Duration expiracion) {
+        // CacheManager propio: el predeterminado lo comparte cualquier otra SessionFactory de la JVM, que podría
+        // haber creado ya estas regiones sin límite ni expiración
+        var proveedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        var cacheManager = proveedor.getCacheManager(URI_REGIONES, proveedor.getDefaultClassLoader());
+        // getCacheNames y no getCache: getCache busca primero la región en application.conf y con "##" registra un error
+        var existentes = new HashSet<String>();
+        cacheManager.getCacheNames().forEach(existentes::add);
+        for (var region : REGIONES) {
+            if (!existentes.contains(region)) {
+                var configuracion = new CaffeineConfiguration<Object, Object>();
+                configuracion.setMaximumSize(OptionalLong.of(maxEntradas));
+                configuracion.setExpireAfterWrite(OptionalLong.of(expiracion.toNanos()));
+                configuracion.setStatisticsEnabled(true);
+                cacheManager.createCache(region, configuracion);
+            }
+        }
+        // Marcas de tiempo por tabla de la caché de consultas: sin expiración ni expulsión (una marca perdida
+        // haría pasar por vigente un resultado antiguo); hay una entrada por tabla
+        if (!existentes.contains(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+            var configuracion = new CaffeineConfiguration<Object, Object>();
+            configuracion.setStatisticsEnabled(true);
+            cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuracion);
+        }
+        return cacheManager;
+    }
+}
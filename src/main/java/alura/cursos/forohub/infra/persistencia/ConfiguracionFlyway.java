@@ -0,0 +1,25 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migraciones de Flyway al arrancar, salvo en el arranque de entrenamiento del archivo CDS (perfil arranque-rapido,
+ * {@code forohub.cds.entrenamiento=true}). Ese arranque usa AOT como el de producción, y con AOT el bean de Flyway queda
+ * fijado al compilar: {@code spring.flyway.enabled=false} ya no lo quita. Así Flyway se crea y sus clases entran en el
+ * archivo, pero no se conecta a una base que en el entrenamiento no existe.
+ */
+@Configuration
+public class ConfiguracionFlyway {
+
+    @Bean
+    public FlywayMigrationStrategy migracionFlyway(@Value("${forohub.cds.entrenamiento:false}") boolean entrenamiento) {
+        return flyway -> {
+            if (!entrenamiento) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separación lectura/escritura (solo con forohub.replica.url): las transacciones
+ * {@code @Transactional(readOnly = true)} usan el pool de la réplica y el resto el de la primaria.
+ * <p>
+ * LazyConnectionDataSourceProxy retrasa la obtención de la conexión física hasta la primera
+ * sentencia, cuando el gestor de transacciones ya marcó la conexión como de solo lectura, y elige
+ * entonces el DataSource de lectura. Flyway y las escrituras siguen en la primaria.
+ */
+@Configuration
+@ConditionalOnProperty(name = "forohub.replica.url")
+public class ConfiguracionReplica {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        var dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Nombres de pool distintos para separar las métricas hikaricp_* de cada base
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("forohub.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties propiedades,
+                                              @Value("${forohub.replica.url}") String url,
+                                              @Value("${forohub.replica.username:${spring.datasource.username:}}") String usuario,
+                                              @Value("${forohub.replica.password:${spring.datasource.password:}}") String contrasena) {
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propiedades.determineDriverClassName())
+                .url(url)
+                .username(usuario)
+                .password(contrasena)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource dataSourcePrimaria,
+                                 @Qualifier("dataSourceReplica") DataSource dataSourceReplica) {
+        return enrutar(dataSourcePrimaria, dataSourceReplica);
+    }
+
+    static DataSource enrutar(DataSource primaria, DataSource replica) {
+        var proxy = new LazyConnectionDataSourceProxy(primaria);
+        proxy.setReadOnlyDataSource(new DataSourceLectura(primaria, replica));
+        return proxy;
+    }
+}
@@ -0,0 +1,28 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Destino de las conexiones de solo lectura: la réplica, salvo dentro de la ventana de
+ * lectura propia del usuario, en la que se usa la primaria.
+ */
+class DataSourceLectura extends AbstractRoutingDataSource {
+
+    private static final String PRIMARIA = "primaria";
+    private static final String REPLICA = "replica";
+
+    DataSourceLectura(DataSource primaria, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return LecturaPropia.primariaForzada() ? PRIMARIA : REPLICA;
+    }
+}
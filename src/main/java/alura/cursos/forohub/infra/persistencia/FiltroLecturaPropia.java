@@ -0,0 +1,52 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import alura.cursos.forohub.infra.security.UsuarioPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Va después de SecurityFilter: si el usuario autenticado escribió hace poco, la petición lee de
+ * la primaria; si la petición es una escritura exitosa, abre su ventana de lectura propia.
+ */
+public class FiltroLecturaPropia extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_LECTURA = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final LecturaPropia lecturaPropia;
+
+    public FiltroLecturaPropia(LecturaPropia lecturaPropia) {
+        this.lecturaPropia = lecturaPropia;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        var usuarioId = usuarioAutenticado();
+        LecturaPropia.forzarPrimaria(usuarioId != null && lecturaPropia.escribioRecientemente(usuarioId));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LecturaPropia.forzarPrimaria(false);
+            if (usuarioId != null && !METODOS_LECTURA.contains(request.getMethod()) && response.getStatus() < 400) {
+                lecturaPropia.registrarEscritura(usuarioId);
+            }
+        }
+    }
+
+    private static Long usuarioAutenticado() {
+        var autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion != null && autenticacion.getPrincipal() instanceof UsuarioPrincipal principal
+                ? principal.id()
+                : null;
+    }
+}
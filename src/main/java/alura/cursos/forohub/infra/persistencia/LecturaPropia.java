@@ -0,0 +1,65 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Ventana de "leer lo propio" (read-your-writes): durante {@code forohub.replica.lectura-propia}
+ * tras una escritura de un usuario, sus lecturas de solo lectura van a la primaria en lugar de a
+ * la réplica, para que no vea datos anteriores a su propio cambio por el retraso de replicación.
+ * El registro vive en memoria de cada nodo.
+ */
+@Component
+public class LecturaPropia {
+
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIA = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> escriturasRecientes;
+
+    public LecturaPropia(@Value("${forohub.replica.lectura-propia:5s}") Duration ventana) {
+        this.escriturasRecientes = Caffeine.newBuilder()
+                .expireAfterWrite(ventana)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void registrarEscritura(Long usuarioId) {
+        escriturasRecientes.put(usuarioId, Boolean.TRUE);
+    }
+
+    public boolean escribioRecientemente(Long usuarioId) {
+        return escriturasRecientes.getIfPresent(usuarioId) != null;
+    }
+
+    /**
+     * Ejecuta la carga con las lecturas de solo lectura dirigidas a la primaria (sin réplica, no cambia nada).
+     */
+    public static <T> T enPrimaria(Supplier<T> carga) {
+        if (primariaForzada()) {
+            return carga.get();
+        }
+        forzarPrimaria(true);
+        try {
+            return carga.get();
+        } finally {
+            forzarPrimaria(false);
+        }
+    }
+
+    public static boolean primariaForzada() {
+        return Boolean.TRUE.equals(FORZAR_PRIMARIA.get());
+    }
+
+    static void forzarPrimaria(boolean forzar) {
+        if (forzar) {
+            FORZAR_PRIMARIA.set(Boolean.TRUE);
+        } else {
+            FORZAR_PRIMARIA.remove();
+        }
+    }
+}
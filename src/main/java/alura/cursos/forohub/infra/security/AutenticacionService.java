@@ -1,13 +1,16 @@
 package alura.cursos.forohub.infra.security;
 
+import alura.cursos.forohub.domain.usuario.Usuario;
 import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AutenticacionService implements UserDetailsService {
+public class AutenticacionService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
 
@@ -23,4 +26,16 @@ public class AutenticacionService implements UserDetailsService {
         }
         return usuario;
     }
+
+    /**
+     * Guarda el hash recalculado por el PasswordEncoder cuando el hash almacenado
+     * usa un formato antiguo o un costo menor al configurado.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        var usuario = (Usuario) user;
+        usuario.setContrasena(newPassword);
+        return usuarioRepository.save(usuario);
+    }
 }
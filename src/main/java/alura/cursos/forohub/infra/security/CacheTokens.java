@@ -0,0 +1,110 @@
+package alura.cursos.forohub.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.HexFormat;
+
+/**
+ * Caché acotada de tokens JWT ya verificados, indexada por el hash SHA-256 del token.
+ * Cada entrada vence como máximo en el {@code exp} del token o tras el TTL configurado.
+ */
+@Component
+public class CacheTokens {
+
+    private final Cache<String, Entrada> cache;
+    private final InstantSource reloj;
+
+    @Autowired
+    public CacheTokens(@Value("${jwt.cache.max-entradas:10000}") long maxEntradas,
+                       @Value("${jwt.cache.ttl-maximo:5m}") Duration ttlMaximo) {
+        this(maxEntradas, ttlMaximo, Ticker.systemTicker(), InstantSource.system());
+    }
+
+    // Reloj de la caché (ticker) y reloj de pared para comparar con el exp del token, reemplazables en pruebas
+    CacheTokens(long maxEntradas, Duration ttlMaximo, Ticker ticker, InstantSource reloj) {
+        this.reloj = reloj;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfter(new ExpiracionPorToken(ttlMaximo, reloj))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public UsuarioPrincipal obtener(String token) {
+        var entrada = cache.getIfPresent(clave(token));
+        return entrada != null ? entrada.principal() : null;
+    }
+
+    public void guardar(String token, UsuarioPrincipal principal, Instant expiraEn) {
+        if (expiraEn != null && expiraEn.isAfter(reloj.instant())) {
+            cache.put(clave(token), new Entrada(principal, expiraEn));
+        }
+    }
+
+    /**
+     * Descarta solo los tokens del usuario indicado; el resto de la caché sigue caliente.
+     */
+    public void invalidarUsuario(Long usuarioId) {
+        cache.asMap().values().removeIf(entrada -> entrada.principal().id().equals(usuarioId));
+    }
+
+    public void invalidarTodo() {
+        cache.invalidateAll();
+    }
+
+    public long aciertos() {
+        return cache.stats().hitCount();
+    }
+
+    public long fallos() {
+        return cache.stats().missCount();
+    }
+
+    public long tamanio() {
+        return cache.estimatedSize();
+    }
+
+    static String clave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 no disponible", exception);
+        }
+    }
+
+    private record Entrada(UsuarioPrincipal principal, Instant expiraEn) {
+    }
+
+    private record ExpiracionPorToken(Duration ttlMaximo, InstantSource reloj) implements Expiry<String, Entrada> {
+
+        @Override
+        public long expireAfterCreate(String clave, Entrada entrada, long tiempoActual) {
+            long hastaExp = Duration.between(reloj.instant(), entrada.expiraEn()).toNanos();
+            return Math.max(0, Math.min(hastaExp, ttlMaximo.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String clave, Entrada entrada, long tiempoActual, long duracionActual) {
+            return expireAfterCreate(clave, entrada, tiempoActual);
+        }
+
+        @Override
+        public long expireAfterRead(String clave, Entrada entrada, long tiempoActual, long duracionActual) {
+            return duracionActual;
+        }
+    }
+}
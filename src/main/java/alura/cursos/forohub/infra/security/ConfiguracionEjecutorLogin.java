@@ -0,0 +1,31 @@
+package alura.cursos.forohub.infra.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pool dedicado y acotado para el hash de contraseñas de POST /login, separado de los
+ * hilos de Tomcat. Cuando el pool y su cola están llenos la tarea se rechaza
+ * (TaskRejectedException) y se responde 503 en lugar de encolar sin límite.
+ */
+@Configuration
+public class ConfiguracionEjecutorLogin {
+
+    @Bean
+    public ThreadPoolTaskExecutor ejecutorLogin(
+            @Value("${seguridad.login.hilos:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int hilos,
+            @Value("${seguridad.login.cola:100}") int capacidadCola) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(capacidadCola);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
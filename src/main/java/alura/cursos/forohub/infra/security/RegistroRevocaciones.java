@@ -0,0 +1,68 @@
+package alura.cursos.forohub.infra.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de revocaciones por usuario para el modo JWT sin estado.
+ * Un token emitido antes de la última revocación del usuario deja de ser válido,
+ * sin consultar la base de datos en cada request. El registro es local a cada nodo:
+ * con varias instancias, un cierre de sesión solo surte efecto en la que lo recibió.
+ */
+@Component
+public class RegistroRevocaciones {
+
+    private final Map<Long, Instant> revocadoDesde = new ConcurrentHashMap<>();
+    private final CacheTokens cacheTokens;
+    private final Duration vigenciaTokens;
+    private final InstantSource reloj;
+
+    @Autowired
+    public RegistroRevocaciones(CacheTokens cacheTokens, @Value("${jwt.expiration}") long expiracion) {
+        this(cacheTokens, Duration.ofMillis(expiracion), InstantSource.system());
+    }
+
+    RegistroRevocaciones(CacheTokens cacheTokens, Duration vigenciaTokens, InstantSource reloj) {
+        this.cacheTokens = cacheTokens;
+        this.vigenciaTokens = vigenciaTokens;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Invalida todos los tokens emitidos hasta ahora para el usuario (POST /logout).
+     */
+    public void revocar(Long usuarioId) {
+        revocadoDesde.put(usuarioId, reloj.instant().truncatedTo(ChronoUnit.SECONDS));
+        cacheTokens.invalidarUsuario(usuarioId);
+    }
+
+    // iat tiene precisión de segundos: un token con el mismo iat que la revocación pudo emitirse antes
+    // que ella dentro de ese segundo, así que también se rechaza (un nuevo login vale desde el segundo siguiente)
+    public boolean estaRevocado(Long usuarioId, Instant emitidoEn) {
+        var desde = revocadoDesde.get(usuarioId);
+        return desde != null && (emitidoEn == null || !emitidoEn.isAfter(desde));
+    }
+
+    /**
+     * Descarta las revocaciones que ya no pueden afectar a ningún token: todo token emitido antes de
+     * ellas venció (exp = iat + jwt.expiration; un segundo de margen por el truncado de iat y exp).
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocaciones.depuracion:10m}")
+    public void depurar() {
+        var limite = reloj.instant().minus(vigenciaTokens).minusSeconds(1);
+        revocadoDesde.values().removeIf(desde -> desde.isBefore(limite));
+    }
+
+    int tamanio() {
+        return revocadoDesde.size();
+    }
+}
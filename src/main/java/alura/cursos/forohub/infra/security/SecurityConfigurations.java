@@ -1,5 +1,12 @@
 package alura.cursos.forohub.infra.security;
 
+import alura.cursos.forohub.infra.limites.FiltroLimiteEscrituras;
+import alura.cursos.forohub.infra.limites.FiltroLimiteLogin;
+import alura.cursos.forohub.infra.limites.LimitadorTasa;
+import alura.cursos.forohub.infra.persistencia.FiltroLecturaPropia;
+import alura.cursos.forohub.infra.persistencia.LecturaPropia;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,9 +17,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -20,30 +33,75 @@ public class SecurityConfigurations {
 
     private final SecurityFilter securityFilter;
     private final AutenticacionService autenticacionService;
+    private final LecturaPropia lecturaPropia;
+    private final LimitadorTasa limitadorTasa;
+    private final ObjectMapper objectMapper;
+
+    @Value("${seguridad.bcrypt.fuerza:10}")
+    private int fuerzaBcrypt;
+
+    @Value("${server.port:8080}")
+    private int puertoServidor;
 
-    public SecurityConfigurations(SecurityFilter securityFilter, AutenticacionService autenticacionService) {
+    @Value("${management.server.port:#{null}}")
+    private Integer puertoGestion;
+
+    public SecurityConfigurations(SecurityFilter securityFilter,
+                                  AutenticacionService autenticacionService,
+                                  LecturaPropia lecturaPropia,
+                                  LimitadorTasa limitadorTasa,
+                                  ObjectMapper objectMapper) {
         this.securityFilter = securityFilter;
         this.autenticacionService = autenticacionService;
+        this.lecturaPropia = lecturaPropia;
+        this.limitadorTasa = limitadorTasa;
+        this.objectMapper = objectMapper;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(csrf -> csrf.disable())
+                // POST /logout lo atiende AutenticacionController (revocación de tokens), no el LogoutFilter
+                .logout(logout -> logout.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
                 .authorizeHttpRequests(req -> {
                     req.requestMatchers(HttpMethod.POST, "/login").permitAll();
+                    req.requestMatchers(HttpMethod.POST, "/topicos/lote").hasRole("ADMIN");
+                    req.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll();
+                    // Prometheus sin token solo en el puerto de gestión interno; en el puerto de la aplicación, ADMIN
+                    req.requestMatchers(puertoDeGestion(puertoGestion, puertoServidor)).permitAll();
+                    req.requestMatchers(HttpMethod.GET, "/actuator/prometheus").hasRole("ADMIN");
+                    // Los redespachos ASYNC (SSE, CompletableFuture) ya pasaron la autorización en la petición original
+                    req.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     req.anyRequest().authenticated();
                 })
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
+                // Límites de tasa: /login antes de verificar nada; escrituras por usuario ya autenticado
+                .addFilterBefore(new FiltroLimiteLogin(limitadorTasa, objectMapper), SecurityFilter.class)
+                .addFilterAfter(new FiltroLimiteEscrituras(limitadorTasa), SecurityFilter.class)
+                // Necesita el usuario autenticado: decide primaria/réplica para las lecturas de la petición
+                .addFilterAfter(new FiltroLecturaPropia(lecturaPropia), SecurityFilter.class)
                 .build();
     }
 
+    /**
+     * Peticiones a /actuator/prometheus que llegan por el puerto de gestión, si está separado del de la
+     * aplicación ({@code management.server.port} distinto de {@code server.port}); si no, no coincide nada.
+     */
+    static RequestMatcher puertoDeGestion(Integer puertoGestion, int puertoServidor) {
+        boolean separado = puertoGestion != null && puertoGestion > 0 && puertoGestion != puertoServidor;
+        var prometheus = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/actuator/prometheus");
+        return request -> separado && request.getLocalPort() == puertoGestion && prometheus.matches(request);
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(autenticacionService);
         provider.setPasswordEncoder(passwordEncoder());
+        // Rehash transparente al iniciar sesión cuando el hash usa otro formato o un costo menor
+        provider.setUserDetailsPasswordService(autenticacionService);
         return provider;
     }
 
@@ -55,6 +113,10 @@ public class SecurityConfigurations {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        var bcrypt = new BCryptPasswordEncoder(fuerzaBcrypt);
+        var encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Los hashes existentes no tienen prefijo {bcrypt}: se validan con BCrypt y se actualizan al iniciar sesión
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
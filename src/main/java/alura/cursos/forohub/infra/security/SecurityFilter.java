@@ -1,10 +1,13 @@
 package alura.cursos.forohub.infra.security;
 
+import alura.cursos.forohub.domain.usuario.Usuario;
 import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,10 +21,21 @@ public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
     private final UsuarioRepository usuarioRepository;
+    private final CacheTokens cacheTokens;
+    private final RegistroRevocaciones registroRevocaciones;
+    // Modo sin estado: el principal se construye con los claims del token, sin consultar usuario
+    private final boolean sinEstado;
 
-    public SecurityFilter(TokenService tokenService, UsuarioRepository usuarioRepository) {
+    public SecurityFilter(TokenService tokenService,
+                          UsuarioRepository usuarioRepository,
+                          CacheTokens cacheTokens,
+                          RegistroRevocaciones registroRevocaciones,
+                          @Value("${jwt.stateless:false}") boolean sinEstado) {
         this.tokenService = tokenService;
         this.usuarioRepository = usuarioRepository;
+        this.cacheTokens = cacheTokens;
+        this.registroRevocaciones = registroRevocaciones;
+        this.sinEstado = sinEstado;
     }
 
     @Override
@@ -32,20 +46,39 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.replace("Bearer ", "");
-            String subject = tokenService.getSubject(token);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring("Bearer ".length());
+            var principal = cacheTokens.obtener(token);
 
-            if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                var usuario = usuarioRepository.findByCorreoElectronico(subject);
-                if (usuario != null) {
-                    var authentication = new UsernamePasswordAuthenticationToken(
-                            usuario, null, usuario.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (principal == null) {
+                var jwt = tokenService.verificar(token);
+                principal = resolverPrincipal(jwt);
+                if (principal != null) {
+                    cacheTokens.guardar(token, principal, jwt.getExpiresAtAsInstant());
                 }
             }
+
+            if (principal != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.authorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private UsuarioPrincipal resolverPrincipal(DecodedJWT jwt) {
+        UsuarioPrincipal principal = sinEstado ? tokenService.principalDesdeClaims(jwt) : null;
+        if (principal == null) {
+            // Modo con estado, o token emitido sin los claims necesarios
+            var usuario = (Usuario) usuarioRepository.findByCorreoElectronico(jwt.getSubject());
+            principal = usuario != null ? UsuarioPrincipal.de(usuario) : null;
+        }
+        if (principal != null && registroRevocaciones.estaRevocado(principal.id(), jwt.getIssuedAtAsInstant())) {
+            return null;
+        }
+        return principal;
+    }
 }
@@ -2,32 +2,50 @@ package alura.cursos.forohub.infra.security;
 
 import alura.cursos.forohub.domain.usuario.Usuario;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 
 @Service
 public class TokenService {
 
-    @Value("${jwt.secret}")
-    private String apiSecret;
+    private static final String ISSUER = "forohub";
 
-    @Value("${jwt.expiration}")
-    private long expiracion;
+    private final long expiracion;
+    // El algoritmo HMAC y el verificador son inmutables y thread-safe: se construyen una sola vez
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
 
+    public TokenService(@Value("${jwt.secret}") String apiSecret,
+                        @Value("${jwt.expiration}") long expiracion) {
+        this.expiracion = expiracion;
+        this.algorithm = Algorithm.HMAC256(apiSecret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
+    }
+
+    @Timed(value = "forohub.jwt.firma", description = "Emisión y firma de tokens JWT")
     public String generarToken(Usuario usuario) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
             return JWT.create()
-                    .withIssuer("forohub")
+                    .withIssuer(ISSUER)
                     .withSubject(usuario.getCorreoElectronico())
                     .withClaim("id", usuario.getId())
+                    .withClaim("nombre", usuario.getNombre())
+                    .withClaim("roles", roles(usuario))
+                    .withIssuedAt(Instant.now())
                     .withExpiresAt(fechaExpiracion())
                     .sign(algorithm);
         } catch (JWTCreationException exception) {
@@ -35,26 +53,52 @@ public class TokenService {
         }
     }
 
+    @Timed(value = "forohub.jwt.verificacion", description = "Verificación de tokens JWT")
     public String getSubject(String token) {
+        return verificar(token).getSubject();
+    }
+
+    /**
+     * Verifica firma, emisor y expiración del token y devuelve sus claims.
+     */
+    @Timed(value = "forohub.jwt.verificacion", description = "Verificación de tokens JWT")
+    public DecodedJWT verificar(String token) {
         if (token == null) {
             throw new RuntimeException("Token no proporcionado");
         }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(apiSecret);
-            return JWT.require(algorithm)
-                    .withIssuer("forohub")
-                    .build()
-                    .verify(token)
-                    .getSubject();
+            return verifier.verify(token);
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token JWT inválido o expirado: " + exception.getMessage());
         }
     }
 
+    /**
+     * Reconstruye el principal solo a partir de los claims, sin acceder a la base de datos.
+     * Devuelve null si el token fue emitido sin los claims necesarios (tokens antiguos).
+     */
+    public UsuarioPrincipal principalDesdeClaims(DecodedJWT jwt) {
+        var id = jwt.getClaim("id");
+        var roles = jwt.getClaim("roles");
+        if (id.isMissing() || id.isNull() || roles.isMissing() || roles.isNull()) {
+            return null;
+        }
+        return new UsuarioPrincipal(
+                id.asLong(),
+                jwt.getClaim("nombre").asString(),
+                jwt.getSubject(),
+                roles.asList(String.class));
+    }
+
+    private static List<String> roles(Usuario usuario) {
+        return usuario.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+
     private Instant fechaExpiracion() {
         return LocalDateTime.now()
                 .plusSeconds(expiracion / 1000)
                 .toInstant(ZoneOffset.of("-05:00"));
     }
 }
-
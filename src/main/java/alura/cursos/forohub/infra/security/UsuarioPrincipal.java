@@ -0,0 +1,34 @@
+package alura.cursos.forohub.infra.security;
+
+import alura.cursos.forohub.domain.usuario.Usuario;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Instantánea inmutable del usuario autenticado. Se guarda en el SecurityContext
+ * en lugar de la entidad {@link Usuario} para no depender de la sesión JPA por request.
+ */
+public record UsuarioPrincipal(
+        Long id,
+        String nombre,
+        String correoElectronico,
+        List<String> roles
+) {
+    public UsuarioPrincipal {
+        roles = List.copyOf(roles);
+    }
+
+    public static UsuarioPrincipal de(Usuario usuario) {
+        return new UsuarioPrincipal(
+                usuario.getId(),
+                usuario.getNombre(),
+                usuario.getCorreoElectronico(),
+                usuario.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    public List<SimpleGrantedAuthority> authorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+}
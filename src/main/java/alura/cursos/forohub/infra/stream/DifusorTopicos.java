@@ -0,0 +1,233 @@
+package alura.cursos.forohub.infra.stream;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Difunde por SSE los EventoTopico confirmados (después del commit) a GET /topicos/stream.
+ * <p>
+ * Cada evento se serializa una vez y se guarda en un historial circular para reanudar con
+ * Last-Event-ID. Los ids de evento son "arranque-secuencia": un id de otro arranque nunca se
+ * confunde con uno de este. El hilo que confirma solo numera y guarda el evento; el reparto a las
+ * suscripciones lo hace un único hilo despachador (en orden), y no bloquea: cada suscripción tiene
+ * su buffer acotado y los envíos corren en hilos virtuales, así una conexión inactiva no ocupa ningún hilo.
+ * Los consumidores que descartan demasiados eventos seguidos o que llevan un envío bloqueado
+ * más de {@code forohub.stream.espera-maxima} se expulsan; el cliente reconecta con Last-Event-ID.
+ */
+@Component
+@RegisterReflectionForBinding(EventoTopico.class)
+public class DifusorTopicos implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DifusorTopicos.class);
+
+    static final EventoSse LATIDO = new EventoSse(-1, "latido", null, null);
+    static final String RESINCRONIZAR = "RESINCRONIZAR";
+
+    private final ObjectMapper objectMapper;
+    private final Executor ejecutor;
+    private final Executor despachador;
+    private final long arranque;
+    private final int capacidadBuffer;
+    private final int maxDescartes;
+    private final long esperaMaximaMs;
+    private final long timeoutMs;
+
+    private final Set<SuscripcionTopicos> suscripciones = ConcurrentHashMap.newKeySet();
+    private final EventoSse[] historial;
+    private long secuencia;
+
+    @Autowired
+    public DifusorTopicos(
+            ObjectMapper objectMapper,
+            @Value("${forohub.stream.historial:1000}") int tamanioHistorial,
+            @Value("${forohub.stream.buffer:64}") int capacidadBuffer,
+            @Value("${forohub.stream.max-descartes:256}") int maxDescartes,
+            @Value("${forohub.stream.espera-maxima:30s}") Duration esperaMaxima,
+            @Value("${forohub.stream.timeout:30m}") Duration timeout) {
+        this(objectMapper, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-", 0).factory()),
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("sse-despachador").factory()),
+                System.currentTimeMillis(), tamanioHistorial, capacidadBuffer, maxDescartes, esperaMaxima, timeout);
+    }
+
+    DifusorTopicos(ObjectMapper objectMapper, Executor ejecutor, Executor despachador, long arranque,
+                   int tamanioHistorial, int capacidadBuffer, int maxDescartes, Duration esperaMaxima,
+                   Duration timeout) {
+        this.objectMapper = objectMapper;
+        this.ejecutor = ejecutor;
+        this.despachador = despachador;
+        this.arranque = arranque;
+        this.historial = new EventoSse[tamanioHistorial];
+        this.capacidadBuffer = capacidadBuffer;
+        this.maxDescartes = maxDescartes;
+        this.esperaMaximaMs = esperaMaxima.toMillis();
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    /**
+     * Abre una suscripción. Con {@code ultimoId} (Last-Event-ID) se reenvían primero los eventos
+     * posteriores que sigan en el historial; si ya no están, o el id es de otro arranque o no tiene
+     * el formato de este difusor, se envía RESINCRONIZAR para que el cliente vuelva a consultar GET /topicos.
+     */
+    public SseEmitter suscribir(String curso, String ultimoId) {
+        var emitter = new SseEmitter(timeoutMs);
+        var suscripcion = new SuscripcionTopicos(emitter, curso, capacidadBuffer, ejecutor, arranque);
+        emitter.onCompletion(() -> suscripciones.remove(suscripcion));
+        emitter.onTimeout(() -> suscripciones.remove(suscripcion));
+        emitter.onError(e -> suscripciones.remove(suscripcion));
+
+        // Bajo el mismo candado que publicar: ningún evento se pierde ni se duplica entre reenvío y alta
+        // Los eventos hasta "secuencia" le llegan por el reenvío (o no le corresponden); el despachador solo
+        // le entrega los posteriores, aunque aún tenga anteriores en cola
+        synchronized (historial) {
+            if (ultimoId != null) {
+                var secuenciaCliente = secuenciaDe(ultimoId);
+                if (secuenciaCliente < 0) {
+                    suscripcion.ofrecer(resincronizar());
+                } else {
+                    reenviar(suscripcion, secuenciaCliente);
+                }
+            }
+            suscripcion.recibirDespuesDe(secuencia);
+            suscripciones.add(suscripcion);
+        }
+        return emitter;
+    }
+
+    /** Id SSE de un evento de este arranque. */
+    String idEvento(long secuencia) {
+        return arranque + "-" + secuencia;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarTopico(EventoTopico evento) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(evento);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo serializar el evento del tópico {}", evento.topicoId(), e);
+            return;
+        }
+        var curso = evento.datos() == null ? null : evento.datos().cursoNombre();
+
+        // El hilo que confirmó solo paga la numeración: el reparto, O(suscriptores), va al despachador.
+        // Se encola bajo el candado para que el despachador reciba los eventos en orden de secuencia
+        synchronized (historial) {
+            var sse = new EventoSse(++secuencia, evento.tipo().name(), curso, json);
+            historial[(int) (sse.id() % historial.length)] = sse;
+            try {
+                despachador.execute(() -> repartir(sse));
+            } catch (RejectedExecutionException e) {
+                log.debug("Difusor detenido: evento {} sin repartir", sse.id());
+            }
+        }
+    }
+
+    private void repartir(EventoSse sse) {
+        for (var suscripcion : suscripciones) {
+            if (suscripcion.recibe(sse) && suscripcion.ofrecer(sse) > maxDescartes) {
+                expulsar(suscripcion, "descartó más de " + maxDescartes + " eventos");
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${forohub.stream.latido:15s}")
+    public void latido() {
+        long ahora = System.currentTimeMillis();
+        for (var suscripcion : suscripciones) {
+            if (suscripcion.msEnvioEnCurso(ahora) > esperaMaximaMs) {
+                expulsar(suscripcion, "envío bloqueado más de " + esperaMaximaMs + " ms");
+            } else {
+                suscripcion.latido();
+            }
+        }
+    }
+
+    public int suscriptores() {
+        return suscripciones.size();
+    }
+
+    @Override
+    public void destroy() {
+        suscripciones.forEach(SuscripcionTopicos::cerrar);
+        suscripciones.clear();
+        if (despachador instanceof ExecutorService servicio) {
+            servicio.shutdownNow();
+        }
+        if (ejecutor instanceof ExecutorService servicio) {
+            servicio.shutdownNow();
+        }
+    }
+
+    Set<SuscripcionTopicos> suscripciones() {
+        return suscripciones;
+    }
+
+    // Secuencia de un Last-Event-ID de este arranque, o -1 si es de otro arranque o no es válido
+    private long secuenciaDe(String ultimoId) {
+        var prefijo = arranque + "-";
+        if (!ultimoId.startsWith(prefijo)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(ultimoId.substring(prefijo.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private EventoSse resincronizar() {
+        return new EventoSse(secuencia, RESINCRONIZAR, null, "{}");
+    }
+
+    private void reenviar(SuscripcionTopicos suscripcion, long ultimoId) {
+        long masAntiguo = Math.max(1, secuencia - historial.length + 1);
+        if (ultimoId > secuencia || ultimoId < masAntiguo - 1) {
+            suscripcion.ofrecer(resincronizar());
+            return;
+        }
+        var perdidos = new ArrayList<EventoSse>();
+        for (long id = ultimoId + 1; id <= secuencia; id++) {
+            var sse = historial[(int) (id % historial.length)];
+            if (suscripcion.acepta(sse)) {
+                perdidos.add(sse);
+            }
+        }
+        // Más eventos de los que caben en el buffer: reenviarlos solo produciría descartes
+        if (perdidos.size() > capacidadBuffer) {
+            suscripcion.ofrecer(resincronizar());
+            return;
+        }
+        perdidos.forEach(suscripcion::ofrecer);
+    }
+
+    private void expulsar(SuscripcionTopicos suscripcion, String motivo) {
+        if (suscripciones.remove(suscripcion)) {
+            log.debug("Suscripción SSE expulsada: {}", motivo);
+            try {
+                suscripcion.cerrar();
+            } catch (RuntimeException e) {
+                log.trace("Error al cerrar la suscripción expulsada", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package alura.cursos.forohub.infra.stream;
+
+/**
+ * Evento ya serializado una sola vez, compartido por todas las suscripciones.
+ * {@code curso} es null en las eliminaciones: se entregan a todos los filtros.
+ */
+record EventoSse(long id, String tipo, String curso, String json) {
+}
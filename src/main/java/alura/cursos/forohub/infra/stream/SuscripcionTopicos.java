@@ -0,0 +1,143 @@
+package alura.cursos.forohub.infra.stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Una conexión SSE abierta. Los eventos se encolan en un buffer acotado (se descarta el más
+ * antiguo cuando está lleno) y se envían desde el ejecutor del difusor, de a una tarea por
+ * suscripción, de modo que un cliente lento nunca bloquea la publicación ni a los demás.
+ */
+class SuscripcionTopicos {
+
+    private final SseEmitter emitter;
+    private final String curso;
+    private final int capacidad;
+    private final Executor ejecutor;
+    private final long arranque;
+
+    private final ArrayDeque<EventoSse> pendientes;
+    private volatile long recibirDespuesDe = Long.MAX_VALUE;
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private int descartadosSeguidos;
+    private volatile long inicioEnvio;
+    private volatile boolean cerrada;
+
+    SuscripcionTopicos(SseEmitter emitter, String curso, int capacidad, Executor ejecutor, long arranque) {
+        this.emitter = emitter;
+        this.curso = curso;
+        this.capacidad = capacidad;
+        this.ejecutor = ejecutor;
+        this.arranque = arranque;
+        this.pendientes = new ArrayDeque<>(Math.min(capacidad, 16));
+    }
+
+    boolean acepta(EventoSse evento) {
+        return curso == null || evento.curso() == null || curso.equalsIgnoreCase(evento.curso());
+    }
+
+    /**
+     * Primer evento que le corresponde del reparto en vivo: los anteriores ya le llegaron por el reenvío
+     * del historial o se publicaron antes de suscribirse.
+     */
+    void recibirDespuesDe(long secuencia) {
+        recibirDespuesDe = secuencia;
+    }
+
+    boolean recibe(EventoSse evento) {
+        return evento.id() > recibirDespuesDe && acepta(evento);
+    }
+
+    /**
+     * Encola sin bloquear. Devuelve la cantidad de eventos descartados seguidos desde el último
+     * envío completo, para que el difusor expulse a los consumidores que no avanzan.
+     */
+    int ofrecer(EventoSse evento) {
+        int descartados;
+        synchronized (pendientes) {
+            if (pendientes.size() >= capacidad) {
+                pendientes.pollFirst();
+                descartadosSeguidos++;
+            }
+            pendientes.addLast(evento);
+            descartados = descartadosSeguidos;
+        }
+        programar();
+        return descartados;
+    }
+
+    void latido() {
+        if (programada.get()) {
+            return;
+        }
+        synchronized (pendientes) {
+            if (pendientes.isEmpty()) {
+                pendientes.addLast(DifusorTopicos.LATIDO);
+            }
+        }
+        programar();
+    }
+
+    /** Milisegundos que lleva bloqueado el envío en curso, o 0 si no hay ninguno. */
+    long msEnvioEnCurso(long ahora) {
+        long inicio = inicioEnvio;
+        return inicio == 0 ? 0 : ahora - inicio;
+    }
+
+    void cerrar() {
+        cerrada = true;
+        emitter.complete();
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    List<Long> idsPendientes() {
+        synchronized (pendientes) {
+            return pendientes.stream().map(EventoSse::id).toList();
+        }
+    }
+
+    private void programar() {
+        if (!cerrada && programada.compareAndSet(false, true)) {
+            ejecutor.execute(this::drenar);
+        }
+    }
+
+    private void drenar() {
+        while (!cerrada) {
+            EventoSse evento;
+            synchronized (pendientes) {
+                evento = pendientes.pollFirst();
+                if (evento == null) {
+                    descartadosSeguidos = 0;
+                    programada.set(false);
+                    return;
+                }
+            }
+            inicioEnvio = System.currentTimeMillis();
+            try {
+                emitter.send(evento == DifusorTopicos.LATIDO
+                        ? SseEmitter.event().comment("latido")
+                        : SseEmitter.event()
+                                .id(arranque + "-" + evento.id())
+                                .name(evento.tipo())
+                                .data(evento.json(), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado: el emitter dispara onError/onCompletion y el difusor la retira
+                cerrada = true;
+                emitter.completeWithError(e);
+            } finally {
+                inicioEnvio = 0;
+            }
+        }
+        programada.set(false);
+    }
+}
@@ -0,0 +1,182 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.infra.persistencia.LecturaPropia;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché en proceso de respuestas ya serializadas (bytes JSON + ETag) de las lecturas más
+ * frecuentes: primeras páginas de GET /topicos y GET /topicos/buscar, y GET /topicos/{id}.
+ * <p>
+ * Caffeine acota la caché por bytes con W-TinyLFU. Los fallos concurrentes sobre la misma clave se
+ * agrupan: el primero registra un futuro y calcula la respuesta en su propio hilo, y el resto espera
+ * ese mismo futuro, de modo que una expiración con carga cuesta una sola consulta. Los cambios se
+ * invalidan después del commit con los EventoTopico; una carga que empezó antes de una invalidación
+ * se entrega pero no se guarda. El TTL acota lo que tardan en verse los cambios hechos por otro nodo.
+ * <p>
+ * Con réplica de lectura, las cargas de {@code forohub.replica.lectura-propia} tras un cambio leen de la
+ * primaria: la réplica puede no tener aún lo recién invalidado, y su copia quedaría guardada hasta el TTL.
+ * Además, un detalle con una versión anterior a la última confirmada en este nodo se entrega pero no se guarda.
+ */
+@Component
+public class CacheRespuestas {
+
+    private final AsyncCache<ClaveRespuesta, RespuestaCacheada> cache;
+    private final boolean habilitada;
+    private final int paginasCacheables;
+    private final AtomicLong generacion = new AtomicLong();
+    private final long retrasoReplica;
+    private final AtomicLong ultimoCambio;
+    private final Cache<Long, Long> versionesConfirmadas;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder agrupadas = new LongAdder();
+
+    public CacheRespuestas(@Value("${forohub.cache.respuestas.habilitada:true}") boolean habilitada,
+                           @Value("${forohub.cache.respuestas.max-bytes:64MB}") DataSize maxBytes,
+                           @Value("${forohub.cache.respuestas.ttl:1m}") Duration ttl,
+                           @Value("${forohub.cache.respuestas.paginas:5}") int paginasCacheables,
+                           @Value("${forohub.replica.lectura-propia:5s}") Duration retrasoReplica) {
+        this.habilitada = habilitada;
+        this.paginasCacheables = paginasCacheables;
+        this.retrasoReplica = retrasoReplica.toNanos();
+        this.ultimoCambio = new AtomicLong(System.nanoTime() - this.retrasoReplica);
+        // Basta con recordarlas lo que vive una entrada: después, una copia atrasada ya habría expirado igual
+        this.versionesConfirmadas = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(100_000)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes.toBytes())
+                .<ClaveRespuesta, RespuestaCacheada>weigher((clave, respuesta) -> respuesta.cuerpo().length)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public RespuestaCacheada obtener(ClaveRespuesta clave, Supplier<RespuestaCacheada> cargador) {
+        if (clave == null || !habilitada) {
+            return cargador.get();
+        }
+        long generacionInicial = generacion.get();
+        var nueva = new CompletableFuture<RespuestaCacheada>();
+        var existente = cache.asMap().putIfAbsent(clave, nueva);
+        if (existente != null) {
+            if (existente.isDone()) {
+                aciertos.increment();
+            } else {
+                agrupadas.increment();
+            }
+            return esperar(existente);
+        }
+
+        fallos.increment();
+        try {
+            var respuesta = System.nanoTime() - ultimoCambio.get() < retrasoReplica
+                    ? LecturaPropia.enPrimaria(cargador)
+                    : cargador.get();
+            nueva.complete(respuesta);
+            if (generacion.get() != generacionInicial || anteriorALoConfirmado(clave, respuesta)) {
+                cache.asMap().remove(clave, nueva);
+            }
+            return respuesta;
+        } catch (RuntimeException e) {
+            // Caffeine descarta el futuro fallido: la siguiente petición vuelve a intentarlo
+            nueva.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Si la clave ya tiene una respuesta cargada, sin contar acierto ni fallo (false con la caché deshabilitada).
+     */
+    public boolean cargada(ClaveRespuesta clave) {
+        if (clave == null || !habilitada) {
+            return false;
+        }
+        var futuro = cache.asMap().get(clave);
+        return futuro != null && futuro.isDone() && !futuro.isCompletedExceptionally();
+    }
+
+    public int paginasCacheables() {
+        return paginasCacheables;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarTopico(EventoTopico evento) {
+        generacion.incrementAndGet();
+        ultimoCambio.set(System.nanoTime());
+        var id = evento.topicoId();
+        if (evento.datos() != null && evento.datos().version() != null) {
+            versionesConfirmadas.asMap().merge(id, evento.datos().version(), Math::max);
+        }
+        Predicate<ClaveRespuesta> afectada = switch (evento.tipo()) {
+            // Un alta cambia el total (y quizá la última página) de los listados sin curso y de los de su curso
+            case CREADO -> clave -> clave.esListado()
+                    && (clave.curso() == null || clave.curso().equalsIgnoreCase(evento.datos().cursoNombre()));
+            // Una edición puede cambiar el curso: afecta a las páginas que la contienen y a las filtradas por curso
+            case ACTUALIZADO, CAMBIO_ESTADO -> clave -> id.equals(clave.topicoId()) || clave.curso() != null;
+            case ELIMINADO, ARCHIVADO -> clave -> id.equals(clave.topicoId()) || clave.esListado();
+        };
+        cache.asMap().entrySet().removeIf(entrada -> afectada.test(entrada.getKey()) || contiene(entrada.getValue(), id));
+    }
+
+    public long aciertos() {
+        return aciertos.sum();
+    }
+
+    public long fallos() {
+        return fallos.sum();
+    }
+
+    public long agrupadas() {
+        return agrupadas.sum();
+    }
+
+    public long bytes() {
+        return cache.synchronous().policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    // El ETag fuerte del detalle lleva la versión servida ("id-version"); los listados y el archivo no se comprueban
+    private boolean anteriorALoConfirmado(ClaveRespuesta clave, RespuestaCacheada respuesta) {
+        if (!clave.esDetalle() || respuesta.etag() == null) {
+            return false;
+        }
+        var confirmada = versionesConfirmadas.getIfPresent(clave.topicoId());
+        var servidas = EtagTopicos.versionesIfMatch(clave.topicoId(), List.of(respuesta.etag()));
+        return confirmada != null && servidas != null && servidas.stream().anyMatch(version -> version < confirmada);
+    }
+
+    private static boolean contiene(CompletableFuture<RespuestaCacheada> futuro, Long id) {
+        return futuro.isDone() && !futuro.isCompletedExceptionally() && futuro.join().ids().contains(id);
+    }
+
+    private static RespuestaCacheada esperar(CompletableFuture<RespuestaCacheada> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            // Los que esperaban reciben la misma excepción que el hilo que cargaba (404, validación...)
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
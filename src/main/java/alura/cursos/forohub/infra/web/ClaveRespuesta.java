@@ -0,0 +1,42 @@
+package alura.cursos.forohub.infra.web;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Clave normalizada de {@link CacheRespuestas}: el detalle de un tópico o una página del listado
+ * (con curso y/o año opcionales). Solo se cachean las primeras páginas con el orden por defecto;
+ * para el resto las fábricas devuelven null y la respuesta se calcula sin caché.
+ */
+public record ClaveRespuesta(
+        Long topicoId,
+        String curso,
+        Integer anio,
+        int pagina,
+        int tamanio
+) {
+    private static final Sort ORDEN_POR_DEFECTO = Sort.by("fechaCreacion");
+    private static final int TAMANIO_MAXIMO = 50;
+
+    public static ClaveRespuesta topico(Long id) {
+        return new ClaveRespuesta(id, null, null, 0, 0);
+    }
+
+    public static ClaveRespuesta listado(String curso, Integer anio, Pageable paginacion, int paginasCacheables) {
+        if (paginacion.getPageNumber() >= paginasCacheables
+                || paginacion.getPageSize() > TAMANIO_MAXIMO
+                || !ORDEN_POR_DEFECTO.equals(paginacion.getSort())) {
+            return null;
+        }
+        var cursoNormalizado = curso == null || curso.isBlank() ? null : curso.trim();
+        return new ClaveRespuesta(null, cursoNormalizado, anio, paginacion.getPageNumber(), paginacion.getPageSize());
+    }
+
+    public boolean esDetalle() {
+        return topicoId != null;
+    }
+
+    public boolean esListado() {
+        return topicoId == null;
+    }
+}
@@ -0,0 +1,47 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+
+/**
+ * Formato CSV (RFC 4180) de GET /topicos/export: los campos con coma, comillas o saltos de línea
+ * se encierran entre comillas dobles y las comillas internas se duplican. Los campos de texto que
+ * empiezan como una fórmula de hoja de cálculo (=, +, -, @, tabulador o retorno) se prefijan con
+ * un apóstrofo para que Excel/LibreOffice los muestren como texto.
+ */
+public final class CsvTopicos {
+
+    public static final String ENCABEZADO =
+            "id,titulo,mensaje,fechaCreacion,status,autorNombre,cursoNombre,totalRespuestas\r\n";
+
+    private CsvTopicos() {
+    }
+
+    public static String fila(DatosListadoTopico topico) {
+        return new StringBuilder(256)
+                .append(topico.id()).append(',')
+                .append(campo(topico.titulo())).append(',')
+                .append(campo(topico.mensaje())).append(',')
+                .append(topico.fechaCreacion()).append(',')
+                .append(topico.status()).append(',')
+                .append(campo(topico.autorNombre())).append(',')
+                .append(campo(topico.cursoNombre())).append(',')
+                .append(topico.totalRespuestas())
+                .append("\r\n")
+                .toString();
+    }
+
+    static String campo(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (!valor.isEmpty() && "=+-@\t\r".indexOf(valor.charAt(0)) >= 0) {
+            valor = "'" + valor;
+        }
+        boolean requiereComillas = false;
+        for (int i = 0; i < valor.length() && !requiereComillas; i++) {
+            char c = valor.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return requiereComillas ? '"' + valor.replace("\"", "\"\"") + '"' : valor;
+    }
+}
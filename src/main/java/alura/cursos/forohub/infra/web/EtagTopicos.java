@@ -0,0 +1,107 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import alura.cursos.forohub.domain.topico.dto.DatosVersionTopico;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cálculo de validadores HTTP (ETag / Last-Modified) para las lecturas de tópicos.
+ * El detalle usa un ETag fuerte "id-version"; los listados, uno débil derivado de la
+ * versión máxima de la página y de los pares id:versión que la componen (una edición en
+ * un tópico que no tiene la versión máxima también debe invalidar la página).
+ */
+public final class EtagTopicos {
+
+    private EtagTopicos() {
+    }
+
+    public static String fuerte(DatosVersionTopico version) {
+        return "\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    /**
+     * Versiones del tópico que acepta un If-Match (comparación fuerte: los ETag débiles no cuentan). Devuelve
+     * {@code null} si no hay condición o es "*", y un conjunto vacío si ninguna etiqueta es de este tópico.
+     */
+    public static Set<Long> versionesIfMatch(Long id, List<String> ifMatch) {
+        if (ifMatch == null || ifMatch.isEmpty()) {
+            return null;
+        }
+        var prefijo = "\"" + id + "-";
+        var versiones = new HashSet<Long>();
+        for (var valor : ifMatch) {
+            for (var etiqueta : valor.split(",")) {
+                etiqueta = etiqueta.trim();
+                if (etiqueta.equals("*")) {
+                    return null;
+                }
+                if (etiqueta.startsWith(prefijo) && etiqueta.endsWith("\"") && etiqueta.length() > prefijo.length() + 1) {
+                    try {
+                        versiones.add(Long.parseLong(etiqueta.substring(prefijo.length(), etiqueta.length() - 1)));
+                    } catch (NumberFormatException e) {
+                        // Etiqueta ajena: no acepta ninguna versión
+                    }
+                }
+            }
+        }
+        return versiones;
+    }
+
+    public static long ultimaModificacion(DatosVersionTopico version) {
+        return aMilisegundos(version.fechaActualizacion());
+    }
+
+    public static String debil(Page<DatosListadoTopico> pagina) {
+        // El total entra en la huella: una alta o baja en otra página también mueve el ETag
+        var prefijo = pagina.getNumber() + ":" + pagina.getSize() + ":" + pagina.getSort() + ":" + pagina.getTotalElements();
+        return debil(prefijo, pagina.getContent());
+    }
+
+    // Sin total en el modo cursor: el tamaño y el cursor siguiente distinguen páginas con el mismo contenido
+    public static String debil(DatosPaginaCursor<DatosListadoTopico> pagina) {
+        return debil(pagina.size() + ":" + pagina.next(), pagina.content());
+    }
+
+    /**
+     * Respuesta de una página por cursor con su ETag débil, o {@code null} si el cliente ya la tiene
+     * (Spring responde entonces 304).
+     */
+    public static ResponseEntity<DatosPaginaCursor<DatosListadoTopico>> condicional(
+            WebRequest request, DatosPaginaCursor<DatosListadoTopico> pagina) {
+        var etag = debil(pagina);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(pagina);
+    }
+
+    public static String debil(String prefijo, List<DatosListadoTopico> contenido) {
+        var huella = new StringBuilder(prefijo).append('|');
+        long versionMaxima = 0;
+        for (var topico : contenido) {
+            huella.append(topico.id()).append(':').append(topico.version()).append(',');
+            if (topico.version() != null) {
+                versionMaxima = Math.max(versionMaxima, topico.version());
+            }
+        }
+        huella.append('|').append(versionMaxima);
+        var hash = DigestUtils.md5DigestAsHex(huella.toString().getBytes(StandardCharsets.UTF_8));
+        return "W/\"" + versionMaxima + "-" + hash + "\"";
+    }
+
+    private static long aMilisegundos(LocalDateTime fecha) {
+        return fecha == null ? -1 : fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,17 @@
+package alura.cursos.forohub.infra.web;
+
+import java.util.Set;
+
+/**
+ * Cuerpo JSON ya serializado y sus validadores HTTP. {@code ultimaModificacion} es -1 en los
+ * listados; {@code ids} son los tópicos que contiene, para invalidar solo lo que cambió, y
+ * {@code titulo} el del detalle (para contar la vista sin deserializar el cuerpo).
+ */
+public record RespuestaCacheada(
+        byte[] cuerpo,
+        String etag,
+        long ultimaModificacion,
+        Set<Long> ids,
+        String titulo
+) {
+}
@@ -0,0 +1,3 @@
+-- Índice para las búsquedas por curso y rango de fechas (/topicos/buscar?curso=&anio=)
+-- Las búsquedas solo por año usan el prefijo fecha_creacion de idx_topico_fecha_creacion_id (V9)
+CREATE INDEX idx_topico_curso_fecha_creacion ON topico (curso_id, fecha_creacion);
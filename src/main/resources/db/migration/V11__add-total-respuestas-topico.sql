@@ -0,0 +1,8 @@
+-- Contador denormalizado de respuestas por tópico (evita COUNT(*) sobre respuesta en cada lectura)
+ALTER TABLE topico ADD COLUMN total_respuestas INT NOT NULL DEFAULT 0;
+
+UPDATE topico t
+SET t.total_respuestas = (SELECT COUNT(*) FROM respuesta r WHERE r.topico_id = t.id);
+
+-- Índice para listar las respuestas de un tópico por fecha (paginación por cursor)
+CREATE INDEX idx_respuesta_topico_fecha_creacion ON respuesta (topico_id, fecha_creacion);
@@ -0,0 +1,7 @@
+-- Versión para bloqueo optimista (JPA @Version) y fecha de modificación, base de ETag / Last-Modified
+ALTER TABLE topico ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE topico ADD COLUMN fecha_actualizacion DATETIME NULL;
+
+UPDATE topico SET fecha_actualizacion = fecha_creacion WHERE fecha_actualizacion IS NULL;
+
+ALTER TABLE topico MODIFY COLUMN fecha_actualizacion DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP;
@@ -0,0 +1,7 @@
+-- Generador de ids de topico compatible con lotes JDBC (SequenceStyleGenerator pooled sobre tabla,
+-- MySQL no tiene secuencias). Hibernate reserva bloques de 50 ids; se arranca por encima del máximo actual
+CREATE TABLE topico_seq (
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO topico_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM topico;
@@ -0,0 +1,2 @@
+-- Contador de vistas por tópico; lo actualiza en lotes ContadorVistas (write-behind), nunca el guardado de la entidad
+ALTER TABLE topico ADD COLUMN vistas BIGINT NOT NULL DEFAULT 0;
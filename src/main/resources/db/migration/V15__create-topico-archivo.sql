@@ -0,0 +1,42 @@
+-- Archivo de tópicos cerrados antiguos: ArchivoTopicos los mueve por lotes junto con sus respuestas,
+-- de modo que topico y respuesta (y sus índices en el buffer pool) solo contienen el conjunto de trabajo.
+-- Sin la unicidad del hash: un tópico archivado no impide publicar de nuevo el mismo contenido.
+--
+-- No se particiona topico por año: MySQL no admite claves foráneas en tablas particionadas
+-- (respuesta.topico_id, autor_id y curso_id) y exigiría incluir fecha_creacion en la clave primaria
+-- y en uk_topico_hash_contenido, con lo que la detección de duplicados dejaría de funcionar.
+CREATE TABLE topico_archivo (
+    id BIGINT NOT NULL,
+    titulo VARCHAR(200) NOT NULL,
+    mensaje TEXT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    autor_id BIGINT NOT NULL,
+    curso_id BIGINT NOT NULL,
+    hash_contenido CHAR(64) NOT NULL,
+    total_respuestas INT NOT NULL,
+    version BIGINT NOT NULL,
+    fecha_actualizacion DATETIME NOT NULL,
+    vistas BIGINT NOT NULL,
+    fecha_archivo DATETIME NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_topico_archivo_fecha_creacion (fecha_creacion),
+    CONSTRAINT fk_topico_archivo_autor FOREIGN KEY (autor_id) REFERENCES usuario(id),
+    CONSTRAINT fk_topico_archivo_curso FOREIGN KEY (curso_id) REFERENCES curso(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE respuesta_archivo (
+    id BIGINT NOT NULL,
+    mensaje TEXT NOT NULL,
+    topico_id BIGINT NOT NULL,
+    fecha_creacion DATETIME NOT NULL,
+    autor_id BIGINT NOT NULL,
+    solucion BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_respuesta_archivo_topico_fecha_creacion (topico_id, fecha_creacion),
+    CONSTRAINT fk_respuesta_archivo_topico FOREIGN KEY (topico_id) REFERENCES topico_archivo(id),
+    CONSTRAINT fk_respuesta_archivo_autor FOREIGN KEY (autor_id) REFERENCES usuario(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Candidatos al archivado (status = 'CERRADO' y fecha_creacion anterior al corte) en orden, sin recorrer los abiertos
+CREATE INDEX idx_topico_status_fecha_creacion ON topico (status, fecha_creacion);
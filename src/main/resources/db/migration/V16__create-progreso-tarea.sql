@@ -0,0 +1,8 @@
+-- Último id procesado por las tareas programadas que recorren topico por lotes (CierreTopicosInactivos),
+-- para retomar donde quedaron tras un reinicio
+CREATE TABLE progreso_tarea (
+    nombre VARCHAR(100) NOT NULL,
+    ultimo_id BIGINT NOT NULL,
+    fecha_actualizacion DATETIME NOT NULL,
+    PRIMARY KEY (nombre)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,3 @@
+-- Índice para el listado por autor con paginación por cursor (/usuarios/{id}/topicos, /topicos/mios), del más
+-- reciente al más antiguo: un único recorrido de rango por autor. Sustituye al índice implícito de fk_topico_autor
+CREATE INDEX idx_topico_autor_fecha_creacion_id ON topico (autor_id, fecha_creacion, id);
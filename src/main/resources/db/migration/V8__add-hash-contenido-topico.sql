@@ -0,0 +1,35 @@
+-- Huella de contenido (SHA-256 de título + mensaje normalizados) para detectar duplicados
+-- con una búsqueda puntual por índice en lugar de comparar la columna TEXT
+ALTER TABLE topico ADD COLUMN hash_contenido CHAR(64) NULL;
+
+-- Backfill de filas existentes (misma normalización que HuellaContenido.calcular)
+UPDATE topico
+SET hash_contenido = SHA2(CONCAT(LOWER(TRIM(titulo)), CHAR(0 USING utf8mb4), LOWER(TRIM(mensaje))), 256)
+WHERE hash_contenido IS NULL;
+
+-- Filas previas que solo difieren en mayúsculas o espacios al inicio/final comparten huella y harían fallar
+-- el índice único. No se borran (pueden tener respuestas y ser de autores distintos): se conserva la huella
+-- en el tópico más antiguo, se registran los demás en topico_duplicado para revisarlos y se les asigna una
+-- huella propia derivada de su id
+CREATE TABLE topico_duplicado (
+    id BIGINT NOT NULL,
+    id_original BIGINT NOT NULL,
+    hash_contenido CHAR(64) NOT NULL,
+    fecha_deteccion DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO topico_duplicado (id, id_original, hash_contenido)
+SELECT t.id, o.id_original, t.hash_contenido
+FROM topico t
+JOIN (SELECT hash_contenido, MIN(id) AS id_original
+      FROM topico
+      GROUP BY hash_contenido
+      HAVING COUNT(*) > 1) o ON o.hash_contenido = t.hash_contenido AND t.id <> o.id_original;
+
+UPDATE topico t
+JOIN topico_duplicado d ON d.id = t.id
+SET t.hash_contenido = SHA2(CONCAT(t.hash_contenido, ':', t.id), 256);
+
+ALTER TABLE topico MODIFY COLUMN hash_contenido CHAR(64) NOT NULL;
+ALTER TABLE topico ADD UNIQUE KEY uk_topico_hash_contenido (hash_contenido);
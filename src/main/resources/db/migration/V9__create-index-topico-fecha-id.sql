@@ -0,0 +1,2 @@
+-- Índice compuesto para la paginación por cursor (keyset) ordenada por fecha_creacion, id
+CREATE INDEX idx_topico_fecha_creacion_id ON topico (fecha_creacion, id);
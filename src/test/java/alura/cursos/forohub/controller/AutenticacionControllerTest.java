@@ -0,0 +1,67 @@
+package alura.cursos.forohub.controller;
+
+import alura.cursos.forohub.infra.errores.TratadorDeErrores;
+import alura.cursos.forohub.infra.security.RegistroRevocaciones;
+import alura.cursos.forohub.infra.security.TokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AutenticacionControllerTest {
+
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private final ThreadPoolTaskExecutor ejecutorLogin = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void detener() {
+        liberar.countDown();
+        ejecutorLogin.shutdown();
+    }
+
+    @Test
+    void conElPoolYLaColaLlenosRespondeServicioNoDisponibleConRetryAfter() throws Exception {
+        // Un hilo ocupado y una cola de un elemento ya ocupada: la siguiente tarea se rechaza
+        ejecutorLogin.setCorePoolSize(1);
+        ejecutorLogin.setMaxPoolSize(1);
+        ejecutorLogin.setQueueCapacity(1);
+        ejecutorLogin.initialize();
+        ejecutorLogin.execute(this::esperar);
+        ejecutorLogin.execute(this::esperar);
+
+        var controller = new AutenticacionController(authenticationManager, mock(TokenService.class),
+                mock(RegistroRevocaciones.class), ejecutorLogin);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new TratadorDeErrores())
+                .build();
+
+        mvc.perform(post("/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"correoElectronico\":\"ana@forohub.com\",\"contrasena\":\"123456\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.campo").value("sobrecarga"));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    private void esperar() {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
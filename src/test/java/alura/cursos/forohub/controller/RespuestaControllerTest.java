@@ -0,0 +1,80 @@
+package alura.cursos.forohub.controller;
+
+import alura.cursos.forohub.domain.respuesta.RespuestaService;
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import alura.cursos.forohub.domain.respuesta.dto.DatosRegistroRespuesta;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import alura.cursos.forohub.infra.errores.TratadorDeErrores;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RespuestaControllerTest {
+
+    private static final DatosListadoRespuesta RESPUESTA = new DatosListadoRespuesta(
+            7L, "Mensaje", LocalDateTime.of(2026, 3, 1, 10, 0), false, 1L, "Ana");
+
+    private final RespuestaService respuestaService = mock(RespuestaService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new RespuestaController(respuestaService))
+            .setControllerAdvice(new TratadorDeErrores())
+            .build();
+
+    @Test
+    void crearRespuestaDevuelveCreatedConLocation() throws Exception {
+        when(respuestaService.crearRespuesta(eq(3L), any(DatosRegistroRespuesta.class))).thenReturn(RESPUESTA);
+
+        mvc.perform(post("/topicos/3/respuestas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mensaje\":\"Mensaje\",\"autorId\":1}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/topicos/3/respuestas/7"))
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void crearRespuestaSinMensajeEsErrorDeValidacion() throws Exception {
+        mvc.perform(post("/topicos/3/respuestas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"mensaje\":\" \",\"autorId\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0].campo").value("mensaje"));
+        verifyNoInteractions(respuestaService);
+    }
+
+    @Test
+    void obtenerRespuestaSirveLaUrlDelLocation() throws Exception {
+        when(respuestaService.obtenerRespuesta(3L, 7L)).thenReturn(RESPUESTA);
+
+        mvc.perform(get("/topicos/3/respuestas/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.autorNombre").value("Ana"));
+    }
+
+    @Test
+    void listarRespuestasPasaElCursorYElTamanio() throws Exception {
+        when(respuestaService.listarRespuestas(3L, "abc", 2))
+                .thenReturn(new DatosPaginaCursor<>(List.of(RESPUESTA), 2, true, "def"));
+
+        mvc.perform(get("/topicos/3/respuestas").param("after", "abc").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(7))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.next").value("def"));
+    }
+}
@@ -0,0 +1,121 @@
+package alura.cursos.forohub.domain.curso;
+
+import alura.cursos.forohub.infra.metricas.ConfiguracionMetricas;
+import alura.cursos.forohub.infra.persistencia.ConfiguracionCacheHibernate;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ConfiguracionCacheHibernate.class)
+// Sin transacción de prueba: la caché READ_WRITE solo se llena con datos confirmados
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CursoRepositoryCacheTest {
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void buscarPorNombreSeSirveDesdeLaCacheDeSegundoNivel() {
+        cursoRepository.save(new Curso(null, "Spring Boot", "Backend"));
+        var estadisticas = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(cursoRepository.buscarPorNombre("Spring Boot")).isPresent();
+        estadisticas.clear();
+
+        var curso = cursoRepository.buscarPorNombre("Spring Boot");
+
+        assertThat(curso).map(Curso::getCategoria).hasValue("Backend");
+        assertThat(estadisticas.getPrepareStatementCount()).isZero();
+        assertThat(estadisticas.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarIdPorNombreNoCargaElCursoYLuegoSeSirveDesdeLaCacheDeConsultas() {
+        var id = cursoRepository.save(new Curso(null, "Java", "Backend")).getId();
+        var estadisticas = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+        estadisticas.clear();
+
+        assertThat(cursoRepository.buscarIdPorNombre("Java")).hasValue(id);
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+
+        estadisticas.clear();
+        assertThat(cursoRepository.buscarIdPorNombre("Java")).hasValue(id);
+        assertThat(cursoRepository.buscarIdPorNombre("Go")).isEmpty();
+        assertThat(estadisticas.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void buscarIdPorNombreVeLosCursosNuevos() {
+        assertThat(cursoRepository.buscarIdPorNombre("Kotlin")).isEmpty();
+
+        var id = cursoRepository.save(new Curso(null, "Kotlin", "Backend")).getId();
+
+        // La inserción en curso invalida el resultado vacío guardado en la caché de consultas
+        assertThat(cursoRepository.buscarIdPorNombre("Kotlin")).hasValue(id);
+    }
+
+    @Test
+    void lasRegionesDeReferenciaTienenLimiteYExpiracion() {
+        // El CacheManager que usa Hibernate, no el predeterminado de la JVM
+        var regionFactory = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        var cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+        for (var region : List.of(Curso.class.getName(), Curso.class.getName() + "##NaturalId")) {
+            var configuracion = cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+
+            assertThat(configuracion.getMaximumSize()).hasValue(1000);
+            assertThat(configuracion.getExpireAfterWrite()).hasValue(Duration.ofMinutes(10).toNanos());
+        }
+    }
+
+    @Test
+    void losAciertosYFallosDeLasRegionesSePublicanEnMicrometer() {
+        var registry = new SimpleMeterRegistry();
+        new ConfiguracionMetricas().metricasCacheHibernate(em.getEntityManagerFactory()).bindTo(registry);
+        var region = Curso.class.getName() + "##NaturalId";
+        var aciertos = registry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter();
+        var fallos = registry.get("cache.gets").tag("cache", region).tag("result", "miss").functionCounter();
+        cursoRepository.save(new Curso(null, "Rust", "Backend"));
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+        double aciertosAntes = aciertos.count();
+        double fallosAntes = fallos.count();
+
+        cursoRepository.buscarPorNombre("Rust");
+        cursoRepository.buscarPorNombre("Rust");
+
+        assertThat(fallos.count()).isGreaterThan(fallosAntes);
+        assertThat(aciertos.count()).isGreaterThan(aciertosAntes);
+        assertThat(registry.find("cache.gets").tag("cache", "default-query-results-region").functionCounters())
+                .isNotEmpty();
+    }
+
+    @AfterEach
+    void limpiar() {
+        cursoRepository.deleteAll();
+    }
+}
@@ -0,0 +1,237 @@
+package alura.cursos.forohub.domain.respuesta;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.respuesta.dto.DatosListadoRespuesta;
+import alura.cursos.forohub.domain.respuesta.dto.DatosRegistroRespuesta;
+import alura.cursos.forohub.domain.topico.ArchivoTopicos;
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.Topico;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import alura.cursos.forohub.infra.errores.ValidacionException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(RespuestaService.class)
+@RecordApplicationEvents
+class RespuestaServiceTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Autowired
+    private RespuestaService respuestaService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Usuario autor;
+    private Topico topico;
+
+    @BeforeEach
+    void prepararDatos() {
+        autor = new Usuario();
+        autor.setNombre("Ana");
+        autor.setCorreoElectronico("ana@forohub.com");
+        autor.setContrasena("x");
+        em.persist(autor);
+
+        var curso = new Curso(null, "Java", "Backend");
+        em.persist(curso);
+
+        topico = new Topico();
+        topico.setTitulo("Título");
+        topico.setMensaje("Mensaje");
+        topico.setAutor(autor);
+        topico.setCurso(curso);
+        topico.setFechaCreacion(FECHA);
+        em.persist(topico);
+        em.flush();
+    }
+
+    @Test
+    void crearRespuestaIncrementaElContadorLaVersionYLaFechaDeModificacionDelTopico() {
+        long version = topico.getVersion();
+
+        respuestaService.crearRespuesta(topico.getId(), new DatosRegistroRespuesta("Primera", autor.getId()));
+        respuestaService.crearRespuesta(topico.getId(), new DatosRegistroRespuesta("Segunda", autor.getId()));
+        em.flush();
+        em.clear();
+
+        var actualizado = em.find(Topico.class, topico.getId());
+        assertThat(actualizado.getTotalRespuestas()).isEqualTo(2);
+        assertThat(actualizado.getVersion()).isEqualTo(version + 2);
+        // Last-Modified de GET /topicos/{id} sale de esta fecha
+        assertThat(actualizado.getFechaActualizacion()).isAfter(FECHA);
+    }
+
+    @Test
+    void obtenerRespuestaSoloLaEncuentraEnSuTopico() {
+        var respuesta = respuestaService.crearRespuesta(topico.getId(), new DatosRegistroRespuesta("Primera", autor.getId()));
+
+        var obtenida = respuestaService.obtenerRespuesta(topico.getId(), respuesta.id());
+
+        assertThat(obtenida.id()).isEqualTo(respuesta.id());
+        assertThat(obtenida.mensaje()).isEqualTo("Primera");
+        assertThat(obtenida.autorNombre()).isEqualTo("Ana");
+        assertThatThrownBy(() -> respuestaService.obtenerRespuesta(topico.getId() + 1, respuesta.id()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void elEventoDeRespuestaNuevaLlevaElContadorYLaVersionYaGuardados() {
+        respuestaService.crearRespuesta(topico.getId(), new DatosRegistroRespuesta("Primera", autor.getId()));
+        var evento = eventos.stream(EventoTopico.class).reduce((primero, segundo) -> segundo).orElseThrow();
+        em.flush();
+        em.clear();
+
+        var guardado = em.find(Topico.class, topico.getId());
+        assertThat(evento.tipo()).isEqualTo(TipoEventoTopico.ACTUALIZADO);
+        assertThat(evento.datos().totalRespuestas()).isEqualTo(guardado.getTotalRespuestas()).isEqualTo(1);
+        assertThat(evento.datos().version()).isEqualTo(guardado.getVersion());
+        assertThat(evento.datos().titulo()).isEqualTo("Título");
+    }
+
+    @Test
+    void noSeRespondeUnTopicoCerrado() {
+        topico.setStatus(StatusTopico.CERRADO);
+        em.flush();
+
+        assertThatThrownBy(() -> respuestaService.crearRespuesta(topico.getId(),
+                new DatosRegistroRespuesta("Tarde", autor.getId())))
+                .isInstanceOf(ValidacionException.class);
+    }
+
+    @Test
+    void elCursorRecorreTodasLasRespuestasSinRepetirConFechasIguales() {
+        // Misma fecha para todas: el desempate por id es lo que evita repetir o saltar respuestas
+        for (int i = 0; i < 5; i++) {
+            persistirRespuesta("Respuesta " + i, FECHA, false);
+        }
+        em.flush();
+
+        var mensajes = new ArrayList<String>();
+        String after = null;
+        int paginas = 0;
+        do {
+            var pagina = respuestaService.listarRespuestas(topico.getId(), after, 2);
+            pagina.content().stream().map(DatosListadoRespuesta::mensaje).forEach(mensajes::add);
+            after = pagina.next();
+            paginas++;
+            assertThat(pagina.hasNext()).isEqualTo(after != null);
+        } while (after != null);
+
+        assertThat(paginas).isEqualTo(3);
+        assertThat(mensajes).containsExactly("Respuesta 0", "Respuesta 1", "Respuesta 2", "Respuesta 3",
+                "Respuesta 4");
+    }
+
+    @Test
+    void listarRespuestasRechazaCursorInvalidoYTopicoInexistente() {
+        assertThatThrownBy(() -> respuestaService.listarRespuestas(topico.getId(), "no-es-un-cursor", 10))
+                .isInstanceOf(ValidacionException.class);
+        assertThatThrownBy(() -> respuestaService.listarRespuestas(999L, null, 10))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void marcarSolucionDejaUnaSolaSolucionYResuelveElTopico() {
+        var primera = persistirRespuesta("Primera", FECHA, false);
+        var segunda = persistirRespuesta("Segunda", FECHA.plusMinutes(1), false);
+        em.flush();
+
+        respuestaService.marcarSolucion(topico.getId(), primera.getId());
+        var resultado = respuestaService.marcarSolucion(topico.getId(), segunda.getId());
+        em.flush();
+        em.clear();
+
+        assertThat(resultado.solucion()).isTrue();
+        assertThat(em.find(Respuesta.class, primera.getId()).getSolucion()).isFalse();
+        assertThat(em.find(Respuesta.class, segunda.getId()).getSolucion()).isTrue();
+        assertThat(em.find(Topico.class, topico.getId()).getStatus()).isEqualTo(StatusTopico.RESUELTO);
+    }
+
+    @Test
+    void elEventoDeSolucionLlevaLaVersionYaGuardada() {
+        var respuesta = persistirRespuesta("Respuesta", FECHA, false);
+        em.flush();
+
+        respuestaService.marcarSolucion(topico.getId(), respuesta.getId());
+        var evento = eventos.stream(EventoTopico.class).reduce((primero, segundo) -> segundo).orElseThrow();
+        em.clear();
+
+        assertThat(evento.tipo()).isEqualTo(TipoEventoTopico.CAMBIO_ESTADO);
+        assertThat(evento.datos().status()).isEqualTo(StatusTopico.RESUELTO);
+        assertThat(evento.datos().version()).isEqualTo(em.find(Topico.class, topico.getId()).getVersion());
+    }
+
+    @Test
+    void noSeMarcaSolucionEnUnTopicoCerrado() {
+        var respuesta = persistirRespuesta("Respuesta", FECHA, false);
+        topico.setStatus(StatusTopico.CERRADO);
+        em.flush();
+        em.clear();
+
+        assertThatThrownBy(() -> respuestaService.marcarSolucion(topico.getId(), respuesta.getId()))
+                .isInstanceOf(ValidacionException.class);
+        assertThat(em.find(Topico.class, topico.getId()).getStatus()).isEqualTo(StatusTopico.CERRADO);
+        assertThat(em.find(Respuesta.class, respuesta.getId()).getSolucion()).isFalse();
+    }
+
+    @Test
+    void lasRespuestasDeUnTopicoArchivadoSeLeenDelArchivoYNoAdmitenCambios() {
+        var primera = persistirRespuesta("Primera", FECHA, false);
+        persistirRespuesta("Segunda", FECHA.plusMinutes(1), true);
+        topico.setStatus(StatusTopico.CERRADO);
+        em.flush();
+        new ArchivoTopicos(new JdbcTemplate(dataSource), transactionTemplate, evento -> { }, true, Duration.ofDays(365), 10)
+                .archivar(FECHA.plusDays(1));
+        em.clear();
+
+        var pagina = respuestaService.listarRespuestas(topico.getId(), null, 10);
+
+        assertThat(pagina.content()).extracting(DatosListadoRespuesta::mensaje).containsExactly("Primera", "Segunda");
+        assertThat(pagina.content()).extracting(DatosListadoRespuesta::autorNombre).containsOnly("Ana");
+        assertThat(pagina.content()).extracting(DatosListadoRespuesta::solucion).containsExactly(false, true);
+        assertThat(respuestaService.obtenerRespuesta(topico.getId(), primera.getId()).mensaje()).isEqualTo("Primera");
+        // Archivado = cerrado y de solo lectura: 400 como un tópico cerrado, no 404
+        assertThatThrownBy(() -> respuestaService.marcarSolucion(topico.getId(), primera.getId()))
+                .isInstanceOf(ValidacionException.class);
+        assertThatThrownBy(() -> respuestaService.crearRespuesta(topico.getId(),
+                new DatosRegistroRespuesta("Tarde", autor.getId())))
+                .isInstanceOf(ValidacionException.class);
+    }
+
+    private Respuesta persistirRespuesta(String mensaje, LocalDateTime fecha, boolean solucion) {
+        var respuesta = new Respuesta(null, mensaje, topico, fecha, autor, solucion);
+        em.persist(respuesta);
+        return respuesta;
+    }
+}
@@ -0,0 +1,103 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.respuesta.Respuesta;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(TopicoService.class)
+class ArchivoTopicosTest {
+
+    private static final LocalDateTime CORTE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TopicoService topicoService;
+
+    private JdbcTemplate jdbc;
+    private ArchivoTopicos archivo;
+    private final List<Long> antiguosCerrados = new ArrayList<>();
+    private Long recienteCerrado;
+    private Long antiguoAbierto;
+
+    @BeforeEach
+    void prepararDatos() {
+        var datos = new DatosPruebaTopicos(em);
+        var autor = datos.autor();
+
+        for (int i = 0; i < 5; i++) {
+            var topico = datos.topico("Antiguo " + i, CORTE.minusDays(10 + i), StatusTopico.CERRADO);
+            antiguosCerrados.add(topico.getId());
+            var respuesta = new Respuesta();
+            respuesta.setMensaje("Respuesta " + i);
+            respuesta.setTopico(topico);
+            respuesta.setAutor(autor);
+            em.persist(respuesta);
+        }
+        recienteCerrado = datos.topico("Reciente", CORTE.plusDays(1), StatusTopico.CERRADO).getId();
+        antiguoAbierto = datos.topico("Abierto", CORTE.minusDays(30), StatusTopico.ABIERTO).getId();
+        em.flush();
+        em.clear();
+
+        jdbc = new JdbcTemplate(dataSource);
+        archivo = new ArchivoTopicos(jdbc, transactionTemplate, eventPublisher, true, Duration.ofDays(365), 2);
+    }
+
+    @Test
+    void mueveLosCerradosAntiguosConSusRespuestasEnLotes() {
+        var total = archivo.archivar(CORTE);
+
+        assertThat(total).isEqualTo(5);
+        assertThat(archivo.archivados()).isEqualTo(5);
+        assertThat(jdbc.queryForList("SELECT id FROM topico ORDER BY id", Long.class))
+                .containsExactlyInAnyOrder(recienteCerrado, antiguoAbierto);
+        assertThat(jdbc.queryForList("SELECT id FROM topico_archivo", Long.class))
+                .containsExactlyInAnyOrderElementsOf(antiguosCerrados);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM respuesta", Long.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM respuesta_archivo", Long.class)).isEqualTo(5);
+
+        // Una segunda pasada no encuentra candidatos
+        assertThat(archivo.archivar(CORTE)).isZero();
+    }
+
+    @Test
+    void elDetalleSigueDisponibleDesdeElArchivo() {
+        archivo.archivar(CORTE);
+        em.clear();
+
+        var detalle = topicoService.obtenerDetalle(antiguosCerrados.get(0));
+
+        assertThat(detalle.topico().titulo()).isEqualTo("Antiguo 0");
+        assertThat(detalle.topico().status()).isEqualTo(StatusTopico.CERRADO);
+        assertThat(detalle.topico().autorNombre()).isEqualTo("Autor");
+        assertThat(detalle.topico().cursoNombre()).isEqualTo("Java");
+        // Sin versión no hay ETag: el archivo ya no cambia
+        assertThat(detalle.version()).isNull();
+    }
+}
@@ -0,0 +1,134 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.respuesta.Respuesta;
+import alura.cursos.forohub.domain.tarea.ProgresoTarea;
+import alura.cursos.forohub.domain.tarea.ProgresoTareaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class CierreTopicosInactivosTest {
+
+    private static final LocalDateTime CORTE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @Autowired
+    private ProgresoTareaRepository progresoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private CierreTopicosInactivos cierre;
+    private final List<Long> inactivos = new ArrayList<>();
+    private Long reciente;
+    private Long conRespuestaReciente;
+    private Long resuelto;
+
+    @BeforeEach
+    void prepararDatos() {
+        var datos = new DatosPruebaTopicos(em);
+        var autor = datos.autor();
+
+        for (int i = 0; i < 5; i++) {
+            inactivos.add(datos.topico("Inactivo " + i, CORTE.minusDays(10), StatusTopico.ABIERTO).getId());
+        }
+        reciente = datos.topico("Reciente", CORTE.plusDays(1), StatusTopico.ABIERTO).getId();
+        resuelto = datos.topico("Resuelto", CORTE.minusDays(10), StatusTopico.RESUELTO).getId();
+        var respondido = datos.topico("Respondido", CORTE.minusDays(10), StatusTopico.ABIERTO);
+        conRespuestaReciente = respondido.getId();
+        var respuesta = new Respuesta();
+        respuesta.setMensaje("Respuesta");
+        respuesta.setTopico(respondido);
+        respuesta.setAutor(autor);
+        respuesta.setFechaCreacion(CORTE.plusDays(2));
+        em.persist(respuesta);
+        em.flush();
+        em.clear();
+
+        cierre = new CierreTopicosInactivos(topicoRepository, progresoRepository, transactionTemplate, eventPublisher,
+                true, Duration.ofDays(90), 2, Duration.ZERO);
+    }
+
+    @Test
+    void cierraPorLotesSoloLosAbiertosSinActividad() throws InterruptedException {
+        var total = cierre.cerrar(CORTE);
+        em.flush();
+        em.clear();
+
+        assertThat(total).isEqualTo(5);
+        assertThat(cierre.cerrados()).isEqualTo(5);
+        for (var id : inactivos) {
+            var topico = topicoRepository.findById(id).orElseThrow();
+            assertThat(topico.getStatus()).isEqualTo(StatusTopico.CERRADO);
+            assertThat(topico.getVersion()).isEqualTo(1);
+            assertThat(topico.getFechaActualizacion()).isAfter(CORTE);
+        }
+        assertThat(topicoRepository.findById(reciente).orElseThrow().getStatus()).isEqualTo(StatusTopico.ABIERTO);
+        assertThat(topicoRepository.findById(conRespuestaReciente).orElseThrow().getStatus()).isEqualTo(StatusTopico.ABIERTO);
+        assertThat(topicoRepository.findById(resuelto).orElseThrow().getStatus()).isEqualTo(StatusTopico.RESUELTO);
+        // Recorrido completo: la próxima ejecución empieza de nuevo desde el principio
+        assertThat(progresoRepository.findById(CierreTopicosInactivos.TAREA).orElseThrow().getUltimoId()).isZero();
+        assertThat(cierre.cerrar(CORTE)).isZero();
+    }
+
+    @Test
+    void continuaDesdeElProgresoGuardado() throws InterruptedException {
+        progresoRepository.save(new ProgresoTarea(CierreTopicosInactivos.TAREA, inactivos.get(2), CORTE));
+
+        var total = cierre.cerrar(CORTE);
+        em.flush();
+        em.clear();
+
+        assertThat(total).isEqualTo(2);
+        assertThat(inactivos).extracting(id -> topicoRepository.findById(id).orElseThrow().getStatus())
+                .containsExactly(StatusTopico.ABIERTO, StatusTopico.ABIERTO, StatusTopico.ABIERTO,
+                        StatusTopico.CERRADO, StatusTopico.CERRADO);
+
+        // La siguiente ejecución recorre desde el principio y cierra el resto
+        assertThat(cierre.cerrar(CORTE)).isEqualTo(3);
+    }
+
+    @Test
+    void cadaLoteBuscaSoloEnSuRangoDeIds() {
+        var primero = inactivos.get(0);
+
+        assertThat(topicoRepository.buscarInactivosEntre(primero - 1, primero + 1, CORTE))
+                .containsExactly(primero, inactivos.get(1));
+        assertThat(topicoRepository.buscarInactivosEntre(primero + 1, primero + 3, CORTE))
+                .containsExactly(inactivos.get(2), inactivos.get(3));
+    }
+
+    @Test
+    void sinCandidatosRecorreHastaElMayorIdYVuelveAlPrincipio() throws InterruptedException {
+        // El progreso apunta más allá del mayor id (tópicos borrados o archivados): no hay nada que recorrer
+        long maximo = topicoRepository.buscarMaximoId().orElseThrow();
+        progresoRepository.save(new ProgresoTarea(CierreTopicosInactivos.TAREA, maximo + 10, CORTE));
+
+        assertThat(cierre.cerrar(CORTE)).isZero();
+        assertThat(progresoRepository.findById(CierreTopicosInactivos.TAREA).orElseThrow().getUltimoId()).isZero();
+
+        // Con un corte anterior a todo no hay candidatos, pero el recorrido llega igualmente al final
+        assertThat(cierre.cerrar(CORTE.minusYears(10))).isZero();
+        assertThat(cierre.ultimoId()).isZero();
+    }
+}
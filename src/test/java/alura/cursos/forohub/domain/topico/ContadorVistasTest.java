@@ -0,0 +1,122 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosTopicoPopular;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+class ContadorVistasTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate jdbc;
+    private ContadorVistas contador;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void prepararDatos() {
+        var datos = new DatosPruebaTopicos(em);
+        for (int i = 0; i < 3; i++) {
+            ids.add(datos.topico("Título " + i, null, null).getId());
+        }
+        em.flush();
+
+        jdbc = new JdbcTemplate(dataSource);
+        contador = new ContadorVistas(jdbc, transactionTemplate, 2, Duration.ofHours(1), 2);
+    }
+
+    @Test
+    void lasVistasConcurrentesSeVuelcanEnUnLoteYAlimentanElRanking() throws InterruptedException {
+        try (var hilos = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 1000).forEach(i -> hilos.execute(() -> contador.registrar(ids.get(0), "Título 0")));
+            IntStream.range(0, 10).forEach(i -> hilos.execute(() -> contador.registrar(ids.get(1), "Título 1")));
+            hilos.execute(() -> contador.registrar(ids.get(2), "Título 2"));
+        }
+        assertThat(contador.populares(10)).isEmpty();
+
+        contador.volcar();
+
+        assertThat(vistas(ids.get(0))).isEqualTo(1000);
+        assertThat(vistas(ids.get(1))).isEqualTo(10);
+        assertThat(vistas(ids.get(2))).isEqualTo(1);
+        // Solo los dos primeros (max-populares = 2), de mayor a menor
+        assertThat(contador.populares(10)).extracting(DatosTopicoPopular::titulo).containsExactly("Título 0", "Título 1");
+
+        // Sin vistas nuevas el siguiente volcado no escribe y libera las entradas en memoria
+        contador.volcar();
+        assertThat(vistas(ids.get(0))).isEqualTo(1000);
+        assertThat(contador.pendientes()).isZero();
+    }
+
+    @Test
+    void laVistaEscritaEnUnaEntradaYaLiberadaNoSePierde() {
+        // Una petición obtiene la entrada y, antes de sumar, un volcado la encuentra sin vistas y la libera
+        var entrada = contador.entrada(ids.get(0));
+        contador.volcar();
+        assertThat(contador.pendientes()).isZero();
+
+        contador.sumar(entrada, ids.get(0), "Título 0", 1);
+        contador.volcar();
+
+        assertThat(vistas(ids.get(0))).isEqualTo(1);
+    }
+
+    @Test
+    void elTopicoEliminadoSaleDelRankingYElEditadoCambiaDeTitulo() {
+        contador.registrar(ids.get(0), "Título 0");
+        contador.registrar(ids.get(1), "Título 1");
+        contador.volcar();
+
+        contador.alCambiarTopico(new EventoTopico(TipoEventoTopico.ELIMINADO, ids.get(0), null));
+        contador.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, ids.get(1),
+                new DatosListadoTopico(ids.get(1), "Título editado", "m",
+                        null, StatusTopico.ABIERTO, "Autor", "Java", 0, 1L)));
+
+        assertThat(contador.populares(10)).extracting(DatosTopicoPopular::titulo).containsExactly("Título editado");
+    }
+
+    @Test
+    void laPuntuacionDecaeConLaVidaMedia() {
+        long hora = Duration.ofHours(1).toNanos();
+        var ranking = new RankingPopulares(Duration.ofHours(1), 10, 0);
+
+        ranking.acumular(Map.of(1L, 100L), Map.of(1L, "Antiguo"), 0);
+        ranking.acumular(Map.of(2L, 60L), Map.of(2L, "Reciente"), 2 * hora);
+
+        // 100 vistas de hace dos vidas medias pesan 25: las 60 recientes van primero
+        assertThat(ranking.top(10)).extracting(DatosTopicoPopular::titulo).containsExactly("Reciente", "Antiguo");
+        assertThat(ranking.top(10).get(1).puntuacion()).isEqualTo(25.0);
+
+        // Tras muchas vidas medias sin vistas las entradas se olvidan
+        ranking.acumular(Map.of(), Map.of(), 20 * hora);
+        assertThat(ranking.top(10)).isEmpty();
+        assertThat(ranking.seguidos()).isZero();
+    }
+
+    private long vistas(Long id) {
+        return jdbc.queryForObject("SELECT vistas FROM topico WHERE id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,49 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos comunes de las pruebas JPA de tópicos: persiste un autor ("Autor") y el curso "Java", y crea
+ * tópicos suyos con la fecha y el estado indicados (null deja los valores por defecto de la entidad).
+ */
+class DatosPruebaTopicos {
+
+    private final EntityManager em;
+    private final Usuario autor;
+    private final Curso curso;
+
+    DatosPruebaTopicos(EntityManager em) {
+        this.em = em;
+        this.autor = new Usuario();
+        autor.setNombre("Autor");
+        autor.setCorreoElectronico("autor@forohub.com");
+        autor.setContrasena("x");
+        em.persist(autor);
+        this.curso = new Curso(null, "Java", "Backend");
+        em.persist(curso);
+    }
+
+    Usuario autor() {
+        return autor;
+    }
+
+    Curso curso() {
+        return curso;
+    }
+
+    Topico topico(String titulo, LocalDateTime fecha, StatusTopico status) {
+        var topico = new Topico();
+        topico.setTitulo(titulo);
+        topico.setMensaje("Mensaje " + titulo);
+        topico.setAutor(autor);
+        topico.setCurso(curso);
+        topico.setFechaCreacion(fecha);
+        topico.setStatus(status);
+        em.persist(topico);
+        return topico;
+    }
+}
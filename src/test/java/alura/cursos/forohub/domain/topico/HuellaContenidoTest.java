@@ -0,0 +1,25 @@
+package alura.cursos.forohub.domain.topico;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HuellaContenidoTest {
+
+    @Test
+    void ignoraMayusculasYEspaciosExtremos() {
+        assertThat(HuellaContenido.calcular("  Hola Mundo ", "Mensaje"))
+                .isEqualTo(HuellaContenido.calcular("hola mundo", "MENSAJE  "));
+    }
+
+    @Test
+    void distingueTituloDeMensaje() {
+        assertThat(HuellaContenido.calcular("ab", "c"))
+                .isNotEqualTo(HuellaContenido.calcular("a", "bc"));
+    }
+
+    @Test
+    void generaSha256Hexadecimal() {
+        assertThat(HuellaContenido.calcular("titulo", "mensaje")).hasSize(64).matches("[0-9a-f]+");
+    }
+}
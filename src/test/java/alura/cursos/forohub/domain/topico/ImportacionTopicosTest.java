@@ -0,0 +1,117 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.topico.dto.DatosResultadoLinea;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "forohub.lote.tamanio=50"
+})
+@Import({ImportacionTopicos.class, ImportacionTopicosTest.Dependencias.class})
+class ImportacionTopicosTest {
+
+    @TestConfiguration
+    static class Dependencias {
+        @Bean
+        JsonMapper jsonMapper() {
+            return JsonMapper.builder().build();
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    @Autowired
+    private ImportacionTopicos importacion;
+
+    @Autowired
+    private EntityManager em;
+
+    private Long autorId;
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void prepararDatos() {
+        autorId = new DatosPruebaTopicos(em).autor().getId();
+        em.flush();
+        em.clear();
+
+        estadisticas = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @Test
+    void importaEnBloquesConInsertsAgrupados() throws IOException {
+        var entrada = new StringBuilder();
+        for (int i = 0; i < 120; i++) {
+            entrada.append(linea("Título " + i, "Mensaje " + i, autorId, "Java")).append('\n');
+        }
+        var bloques = new ArrayList<List<DatosResultadoLinea>>();
+
+        var resumen = importacion.importar(new BufferedReader(new StringReader(entrada.toString())), bloques::add);
+
+        assertThat(resumen.creados()).isEqualTo(120);
+        assertThat(bloques).extracting(List::size).containsExactly(50, 50, 20);
+        assertThat(estadisticas.getEntityInsertCount()).isEqualTo(120);
+        assertThat(estadisticas.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+        assertThat(estadisticas.getEntityStatistics(Curso.class.getName()).getLoadCount()).isEqualTo(1);
+        // Por bloque: hashes + autores (+ cursos en el primero) + secuencia + lotes de INSERT, nunca uno por fila
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThan(30);
+    }
+
+    @Test
+    void reportaDuplicadosYErroresPorLinea() throws IOException {
+        var entrada = String.join("\n",
+                linea("Uno", "Mensaje", autorId, "Java"),
+                linea("  UNO ", "mensaje", autorId, "Java"),
+                linea("Dos", "Mensaje", 999L, "Java"),
+                linea("Tres", "Mensaje", autorId, "Cobol"),
+                "{no es json",
+                "",
+                linea("", "Mensaje", autorId, "Java"));
+        var resultados = new ArrayList<DatosResultadoLinea>();
+
+        var resumen = importacion.importar(new BufferedReader(new StringReader(entrada)), resultados::addAll);
+
+        assertThat(resultados).extracting(DatosResultadoLinea::linea).containsExactly(1L, 2L, 3L, 4L, 5L, 7L);
+        assertThat(resultados).extracting(DatosResultadoLinea::estado).containsExactly(
+                EstadoLineaLote.CREADO, EstadoLineaLote.DUPLICADO, EstadoLineaLote.ERROR,
+                EstadoLineaLote.ERROR, EstadoLineaLote.ERROR, EstadoLineaLote.ERROR);
+        assertThat(resumen.lineas()).isEqualTo(7);
+        assertThat(resumen.creados()).isEqualTo(1);
+
+        // Una segunda importación detecta el duplicado contra la base de datos
+        var repetida = new ArrayList<DatosResultadoLinea>();
+        importacion.importar(new BufferedReader(new StringReader(linea("Uno", "Mensaje", autorId, "Java"))), repetida::addAll);
+        assertThat(repetida).extracting(DatosResultadoLinea::estado).containsExactly(EstadoLineaLote.DUPLICADO);
+    }
+
+    private static String linea(String titulo, String mensaje, Long autorId, String curso) {
+        return """
+                {"titulo":"%s","mensaje":"%s","autorId":%d,"curso":"%s"}""".formatted(titulo, mensaje, autorId, curso);
+    }
+}
@@ -0,0 +1,106 @@
+package alura.cursos.forohub.domain.topico;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica con EXPLAIN que las consultas de TopicoRepository para /topicos/buscar y el listado por autor son
+ * sargables y usan los índices de topico. Se explica el SQL que genera Hibernate para cada método, capturado
+ * con un StatementInspector, con los mismos parámetros con los que se invocó.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "alura.cursos.forohub.domain.topico.TopicoRepositoryIndicesTest$Capturador"
+})
+class TopicoRepositoryIndicesTest {
+
+    private static final LocalDateTime DESDE = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime HASTA = LocalDateTime.of(2027, 1, 1, 0, 0);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TopicoRepository topicoRepository;
+
+    @BeforeEach
+    void limpiar() {
+        Capturador.SENTENCIAS.clear();
+    }
+
+    @Test
+    void filtroPorAnioUsaIndiceDeFecha() {
+        topicoRepository.findByFechaCreacionEntre(DESDE, HASTA, PageRequest.of(0, 10));
+
+        assertThat(explicar(DESDE, HASTA, 10))
+                .containsIgnoringCase("idx_topico_fecha_creacion_id");
+    }
+
+    @Test
+    void filtroPorCursoYAnioUsaIndiceCompuesto() {
+        topicoRepository.findByCursoIdAndFechaCreacionEntre(1L, DESDE, HASTA, PageRequest.of(0, 10));
+
+        assertThat(explicar(1L, DESDE, HASTA, 10))
+                .containsIgnoringCase("idx_topico_curso_fecha_creacion");
+    }
+
+    @Test
+    void cursorPorCursoUsaIndiceCompuesto() {
+        topicoRepository.listarPorCursoDespuesDe(1L, DESDE, 0L, HASTA, Limit.of(11));
+
+        assertThat(explicar(1L, DESDE, HASTA, DESDE, DESDE, 0L, 11))
+                .containsIgnoringCase("idx_topico_curso_fecha_creacion");
+    }
+
+    @Test
+    void listadoPorAutorUsaIndiceDeAutorFechaId() {
+        topicoRepository.listarPorAutorAntesDe(1L, DESDE, 10L, Limit.of(11));
+
+        assertThat(explicar(1L, DESDE, DESDE, DESDE, 10L, 11))
+                .containsIgnoringCase("idx_topico_autor_fecha_creacion_id");
+    }
+
+    // EXPLAIN de la consulta de datos capturada (no la de conteo), con sus parámetros en orden
+    private String explicar(Object... parametros) {
+        var sql = Capturador.SENTENCIAS.stream()
+                .filter(s -> !s.toLowerCase().contains("count("))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Sin consulta capturada: " + Capturador.SENTENCIAS));
+        return em.unwrap(Session.class).doReturningWork(conexion -> {
+            try (var sentencia = conexion.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parametros.length; i++) {
+                    sentencia.setObject(i + 1, parametros[i]);
+                }
+                try (var resultado = sentencia.executeQuery()) {
+                    resultado.next();
+                    return resultado.getString(1);
+                }
+            }
+        });
+    }
+
+    public static class Capturador implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+}
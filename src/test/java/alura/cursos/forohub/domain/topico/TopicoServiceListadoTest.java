@@ -0,0 +1,269 @@
+package alura.cursos.forohub.domain.topico;
+
+import alura.cursos.forohub.domain.curso.Curso;
+import alura.cursos.forohub.domain.topico.dto.DatosActualizacionTopico;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import alura.cursos.forohub.infra.errores.PrecondicionFallidaException;
+import alura.cursos.forohub.infra.errores.ValidacionException;
+import alura.cursos.forohub.infra.web.EtagTopicos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TopicoService.class)
+class TopicoServiceListadoTest {
+
+    private static final PageRequest PAGINA = PageRequest.of(0, 5, Sort.by("fechaCreacion"));
+
+    @Autowired
+    private TopicoService topicoService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void prepararDatos() {
+        var inicio = LocalDateTime.of(2026, 1, 1, 10, 0);
+        for (int i = 0; i < 12; i++) {
+            var autor = new Usuario();
+            autor.setNombre("Autor " + i);
+            autor.setCorreoElectronico("autor" + i + "@forohub.com");
+            autor.setContrasena("x");
+            em.persist(autor);
+
+            var curso = new Curso(null, "Curso " + i, "Backend");
+            em.persist(curso);
+
+            var topico = new Topico();
+            topico.setTitulo("Título " + i);
+            topico.setMensaje("Mensaje " + i);
+            topico.setAutor(autor);
+            topico.setCurso(curso);
+            topico.setFechaCreacion(inicio.plusDays(i));
+            em.persist(topico);
+        }
+        em.flush();
+        em.clear();
+
+        estadisticas = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @Test
+    void listarTopicosUsaUnaConsultaMasElConteo() {
+        var pagina = topicoService.listarTopicos(PAGINA);
+
+        assertThat(pagina.getContent()).hasSize(5);
+        assertThat(pagina.getContent().get(0).autorNombre()).isEqualTo("Autor 0");
+        assertThat(pagina.getContent().get(0).cursoNombre()).isEqualTo("Curso 0");
+        assertThat(pagina.getTotalElements()).isEqualTo(12);
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void buscarTopicosPorCursoUsaUnaConsultaMasElConteo() {
+        var pagina = topicoService.buscarTopicos("Curso 3", null, PAGINA);
+
+        assertThat(pagina.getContent()).extracting("titulo").containsExactly("Título 3");
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void paginacionPorCursorRecorreTodoSinConteo() {
+        var ids = new java.util.ArrayList<Long>();
+        String after = "";
+        int paginas = 0;
+        do {
+            var pagina = topicoService.buscarTopicosCursor(null, null, after, 5);
+            pagina.content().forEach(t -> ids.add(t.id()));
+            after = pagina.next();
+            paginas++;
+        } while (after != null);
+
+        assertThat(paginas).isEqualTo(3);
+        assertThat(ids).hasSize(12).doesNotHaveDuplicates();
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void paginacionPorCursorRespetaElFiltroDeAnio() {
+        var pagina = topicoService.buscarTopicosCursor(null, 2025, "", 5);
+
+        assertThat(pagina.content()).isEmpty();
+        assertThat(pagina.hasNext()).isFalse();
+    }
+
+    @Test
+    void anioFueraDeRangoEsErrorDeValidacion() {
+        assertThatThrownBy(() -> topicoService.buscarTopicos(null, 99_999, PAGINA))
+                .isInstanceOf(ValidacionException.class);
+        assertThatThrownBy(() -> topicoService.buscarTopicosCursor(null, Integer.MAX_VALUE, "", 5))
+                .isInstanceOf(ValidacionException.class);
+    }
+
+    @Test
+    void listadoPorAutorRecorreDelMasRecienteAlMasAntiguoSinCargarUsuarios() {
+        var autor = em.createQuery("SELECT u FROM Usuario u WHERE u.nombre = 'Autor 0'", Usuario.class).getSingleResult();
+        var curso = em.createQuery("SELECT c FROM Curso c WHERE c.nombre = 'Curso 0'", Curso.class).getSingleResult();
+        for (int i = 1; i <= 4; i++) {
+            var topico = new Topico();
+            topico.setTitulo("Propio " + i);
+            topico.setMensaje("Mensaje propio " + i);
+            topico.setAutor(autor);
+            topico.setCurso(curso);
+            topico.setFechaCreacion(LocalDateTime.of(2026, 2, 1, 10, 0).plusDays(i));
+            em.persist(topico);
+        }
+        em.flush();
+        em.clear();
+        estadisticas.clear();
+
+        var titulos = new java.util.ArrayList<String>();
+        String after = null;
+        int paginas = 0;
+        do {
+            var pagina = topicoService.listarTopicosDeAutor(autor.getId(), after, 2);
+            pagina.content().forEach(t -> titulos.add(t.titulo()));
+            after = pagina.next();
+            paginas++;
+        } while (after != null);
+
+        assertThat(titulos).containsExactly("Propio 4", "Propio 3", "Propio 2", "Propio 1", "Título 0");
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(paginas);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+        assertThat(estadisticas.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void listadoPorAutorInexistenteEsNoEncontrado() {
+        assertThatThrownBy(() -> topicoService.listarTopicosDeAutor(999_999L, null, 10))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void exportarPorBloquesNoRepiteNiSaltaTopicos() {
+        var ids = new java.util.ArrayList<Long>();
+
+        var filas = topicoService.exportar(t -> ids.add(t.id()), 5);
+
+        assertThat(filas).isEqualTo(12);
+        assertThat(ids).hasSize(12).isSorted().doesNotHaveDuplicates();
+        // 5 + 5 + 2: el bloque incompleto termina el recorrido
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void exportarRecorreTodoEnUnaSolaConsultaSinEntidadesGestionadas() {
+        var ids = new java.util.ArrayList<Long>();
+
+        var filas = topicoService.exportar(t -> {
+            ids.add(t.id());
+            assertThat(em.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount()).isZero();
+        });
+
+        assertThat(filas).isEqualTo(12);
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void actualizarTopicoIncrementaLaVersionYCambiaLosEtag() {
+        var idSegundo = topicoService.listarTopicos(PAGINA).getContent().get(1).id();
+        var versionAntes = topicoService.obtenerVersion(idSegundo).orElseThrow();
+        var etagPaginaAntes = EtagTopicos.debil(topicoService.listarTopicos(PAGINA));
+        estadisticas.clear();
+
+        assertThat(topicoService.obtenerVersion(idSegundo)).isPresent();
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+
+        topicoService.actualizarTopico(idSegundo,
+                new DatosActualizacionTopico("Título editado", "Mensaje editado", StatusTopico.ABIERTO, "Curso 1"));
+        em.flush();
+        em.clear();
+
+        var versionDespues = topicoService.obtenerVersion(idSegundo).orElseThrow();
+        assertThat(versionDespues.version()).isEqualTo(versionAntes.version() + 1);
+        assertThat(EtagTopicos.fuerte(versionDespues)).isNotEqualTo(EtagTopicos.fuerte(versionAntes));
+        assertThat(EtagTopicos.debil(topicoService.listarTopicos(PAGINA))).isNotEqualTo(etagPaginaAntes);
+
+        // El detalle trae el contenido y la versión de su ETag en una sola lectura
+        em.clear();
+        estadisticas.clear();
+        var detalle = topicoService.obtenerDetalle(idSegundo);
+        assertThat(detalle.topico().titulo()).isEqualTo("Título editado");
+        assertThat(detalle.version()).isEqualTo(versionDespues);
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void actualizarConUnaVersionQueNoEsLaActualEsPrecondicionFallida() {
+        var id = topicoService.listarTopicos(PAGINA).getContent().get(0).id();
+        long version = topicoService.obtenerVersion(id).orElseThrow().version();
+        var datos = new DatosActualizacionTopico("Título editado", "Mensaje editado", StatusTopico.ABIERTO, "Curso 0");
+
+        assertThatThrownBy(() -> topicoService.actualizarTopico(id, datos, Set.of(version + 1)))
+                .isInstanceOf(PrecondicionFallidaException.class);
+        assertThatThrownBy(() -> topicoService.actualizarTopico(id, datos, Set.of()))
+                .isInstanceOf(PrecondicionFallidaException.class);
+        em.flush();
+        em.clear();
+        assertThat(topicoService.obtenerDetalle(id).topico().titulo()).isEqualTo("Título 0");
+
+        topicoService.actualizarTopico(id, datos, Set.of(version));
+        em.flush();
+        em.clear();
+        assertThat(topicoService.obtenerDetalle(id).topico().titulo()).isEqualTo("Título editado");
+    }
+
+    @Test
+    void unDuplicadoRegistradoPorV8SeEditaConservandoSuHuellaPropia() {
+        var contenido = topicoService.listarTopicos(PAGINA).getContent();
+        var idOriginal = contenido.get(0).id();
+        var idDuplicado = contenido.get(1).id();
+        // Como deja V8 las filas de topico_duplicado: mismo contenido normalizado, huella derivada del id
+        var huellaPropia = HuellaContenido.calcular(HuellaContenido.calcular("Título 0", "Mensaje 0") + ":" + idDuplicado, "");
+        em.createNativeQuery("UPDATE topico SET titulo = 'TÍTULO 0', mensaje = 'mensaje 0 ', hash_contenido = ?1 WHERE id = ?2")
+                .setParameter(1, huellaPropia)
+                .setParameter(2, idDuplicado)
+                .executeUpdate();
+        em.clear();
+
+        topicoService.actualizarTopico(idDuplicado,
+                new DatosActualizacionTopico("TÍTULO 0", "mensaje 0 ", StatusTopico.CERRADO, "Curso 1"));
+        em.flush();
+        em.clear();
+
+        var editado = em.find(Topico.class, idDuplicado);
+        assertThat(editado.getStatus()).isEqualTo(StatusTopico.CERRADO);
+        assertThat(editado.getHashContenido()).isEqualTo(huellaPropia);
+        assertThat(em.find(Topico.class, idOriginal).getHashContenido())
+                .isNotEqualTo(editado.getHashContenido());
+
+        // Cambiar el contenido sí vuelve a comprobar duplicados
+        assertThatThrownBy(() -> topicoService.actualizarTopico(idDuplicado,
+                new DatosActualizacionTopico("título 0", "Mensaje 0", StatusTopico.CERRADO, "Curso 1")))
+                .isInstanceOf(ValidacionException.class);
+    }
+}
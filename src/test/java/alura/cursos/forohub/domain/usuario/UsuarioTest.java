@@ -0,0 +1,31 @@
+package alura.cursos.forohub.domain.usuario;
+
+import alura.cursos.forohub.domain.perfil.Perfil;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsuarioTest {
+
+    @Test
+    void losPerfilesSonLasAutoridades() {
+        var usuario = new Usuario();
+        usuario.setPerfiles(Set.of(new Perfil(1L, "ROLE_ADMIN"), new Perfil(3L, "ROLE_MODERADOR")));
+
+        assertThat(usuario.getAuthorities()).map(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MODERADOR");
+    }
+
+    @Test
+    void sinPerfilesEsRoleUser() {
+        var usuario = new Usuario();
+
+        assertThat(usuario.getAuthorities()).map(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+
+        usuario.setPerfiles(null);
+        assertThat(usuario.getAuthorities()).map(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+}
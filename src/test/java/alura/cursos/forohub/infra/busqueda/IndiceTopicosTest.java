@@ -0,0 +1,131 @@
+package alura.cursos.forohub.infra.busqueda;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceTopicosTest {
+
+    private IndiceTopicos indice;
+
+    @BeforeEach
+    void crearIndice() throws IOException {
+        indice = new IndiceTopicos("");
+        indice.indexar(topico(1L, "Configurar Spring Security", "Necesito ayuda con JWT en Spring Boot"));
+        indice.indexar(topico(2L, "Error al conectar con MySQL", "Problema de conexión con la base de datos"));
+        indice.indexar(topico(3L, "Buenas prácticas en React", "Cómo estructurar componentes; uso Spring en el backend"));
+    }
+
+    @AfterEach
+    void cerrarIndice() throws IOException {
+        indice.destroy();
+    }
+
+    @Test
+    void ordenaPorRelevanciaDandoMasPesoAlTitulo() {
+        var pagina = indice.buscar("spring", PageRequest.of(0, 10));
+
+        assertThat(pagina.getTotalElements()).isEqualTo(2);
+        assertThat(pagina.getContent()).extracting(DatosListadoTopico::id).containsExactly(1L, 3L);
+        assertThat(pagina.getContent().get(0).autorNombre()).isEqualTo("Juan Pérez");
+    }
+
+    @Test
+    void aplicaStemmingEnEspanolYToleraSintaxisInvalida() {
+        assertThat(indice.buscar("conexiones", PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(2L);
+        assertThat(indice.buscar("mysql AND (", PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(2L);
+    }
+
+    @Test
+    void reflejaActualizacionesYEliminaciones() {
+        indice.alCambiarTopico(new EventoTopico(TipoEventoTopico.ELIMINADO, 1L, null));
+        indice.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, 2L,
+                topico(2L, "Spring Data con MySQL", "Problema de conexión")));
+
+        var pagina = indice.buscar("spring", PageRequest.of(0, 10));
+
+        assertThat(pagina.getContent()).extracting(DatosListadoTopico::id).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void filtraPorCursoYAnioSobreLaBusquedaDeTexto() {
+        indice.indexar(new DatosListadoTopico(4L, "Spring en Kotlin", "Corrutinas", LocalDateTime.of(2025, 5, 1, 9, 0),
+                StatusTopico.ABIERTO, "Ana", "Kotlin", 0, 0L));
+
+        assertThat(indice.buscar("spring", "Kotlin", null, PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(4L);
+        assertThat(indice.buscar("spring", null, 2026, PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(1L, 3L);
+        assertThat(indice.buscar("spring", "Kotlin", 2026, PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void losEventosDuranteUnaReconstruccionSeAplicanDespuesDeLaInstantanea() throws IOException {
+        indice.iniciarReconstruccion();
+        // Cambios confirmados en MySQL mientras el recorrido aún lee las filas anteriores
+        indice.alCambiarTopico(new EventoTopico(TipoEventoTopico.ELIMINADO, 1L, null));
+        indice.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, 2L,
+                topico(2L, "Spring Data con MySQL", "Problema de conexión")));
+        indice.indexarReconstruccion(topico(1L, "Configurar Spring Security", "Necesito ayuda con JWT en Spring Boot"));
+        indice.indexarReconstruccion(topico(2L, "Error al conectar con MySQL", "Problema de conexión con la base de datos"));
+
+        // Hasta terminar, las búsquedas ven el índice anterior completo
+        assertThat(indice.buscar("spring", PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(1L, 3L);
+
+        indice.terminarReconstruccion();
+
+        assertThat(indice.buscar("spring", PageRequest.of(0, 10)).getContent())
+                .extracting(DatosListadoTopico::id).containsExactly(2L);
+    }
+
+    @Test
+    void soloUnCierreOrdenadoDejaElIndiceDeDiscoReutilizable(@TempDir Path directorio) throws IOException {
+        var enDisco = new IndiceTopicos(directorio.toString());
+        assertThat(enDisco.necesitaReconstruccion()).isTrue();
+        enDisco.indexar(topico(1L, "Configurar Spring Security", "JWT"));
+
+        // El commit periódico guarda los cambios, pero una caída después dejaría el índice sin cierre limpio
+        enDisco.confirmarPeriodicamente();
+        assertThat(datosUltimoCommit(directorio)).containsEntry("cierreLimpio", "false");
+
+        enDisco.destroy();
+        assertThat(datosUltimoCommit(directorio)).containsEntry("cierreLimpio", "true");
+
+        var reabierto = new IndiceTopicos(directorio.toString());
+        try {
+            assertThat(reabierto.necesitaReconstruccion()).isFalse();
+            assertThat(reabierto.buscar("spring", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1);
+        } finally {
+            reabierto.destroy();
+        }
+    }
+
+    private static Map<String, String> datosUltimoCommit(Path directorio) throws IOException {
+        try (var fs = FSDirectory.open(directorio); var lector = DirectoryReader.open(fs)) {
+            return lector.getIndexCommit().getUserData();
+        }
+    }
+
+    private static DatosListadoTopico topico(Long id, String titulo, String mensaje) {
+        return new DatosListadoTopico(id, titulo, mensaje, LocalDateTime.of(2026, 2, 19, 10, 0),
+                StatusTopico.ABIERTO, "Juan Pérez", "Spring Boot", 0, 0L);
+    }
+}
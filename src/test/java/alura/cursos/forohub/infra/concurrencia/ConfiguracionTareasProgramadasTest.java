@@ -0,0 +1,38 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfiguracionTareasProgramadasTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskSchedulingAutoConfiguration.class))
+            .withUserConfiguration(ConProgramacion.class, ConfiguracionTareasProgramadas.class);
+
+    @Test
+    void elProgramadorDeSpringBootTieneUnHiloPorTareaPorDefecto() {
+        contexto.run(ctx -> assertThat(hilos(ctx.getBean(ThreadPoolTaskScheduler.class))).isEqualTo(5));
+    }
+
+    @Test
+    void laPropiedadDeSpringBootSigueMandando() {
+        contexto.withPropertyValues("spring.task.scheduling.pool.size=2")
+                .run(ctx -> assertThat(hilos(ctx.getBean(ThreadPoolTaskScheduler.class))).isEqualTo(2));
+    }
+
+    private static int hilos(ThreadPoolTaskScheduler programador) {
+        return programador.getScheduledThreadPoolExecutor().getCorePoolSize();
+    }
+
+    @Configuration
+    @EnableScheduling
+    static class ConProgramacion {
+    }
+}
@@ -0,0 +1,92 @@
+package alura.cursos.forohub.infra.concurrencia;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DataSourceLimitadoTest {
+
+    private static final Duration ESPERA = Duration.ofMillis(50);
+
+    private final DataSource destino = mock(DataSource.class);
+    private final Connection conexion = mock(Connection.class);
+
+    @Test
+    void cerrarDosVecesLiberaUnSoloPermiso() throws SQLException {
+        when(destino.getConnection()).thenReturn(conexion);
+        var dataSource = new DataSourceLimitado(destino, 2, ESPERA);
+
+        var primera = dataSource.getConnection();
+        dataSource.getConnection();
+        assertThat(dataSource.permisosDisponibles()).isZero();
+
+        primera.close();
+        primera.close();
+
+        assertThat(dataSource.permisosDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void siElPoolFallaAlDarLaConexionSeDevuelveElPermiso() throws SQLException {
+        when(destino.getConnection())
+                .thenThrow(new SQLException("pool agotado"))
+                .thenThrow(new IllegalStateException("pool cerrado"));
+        var dataSource = new DataSourceLimitado(destino, 1, ESPERA);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(IllegalStateException.class);
+
+        assertThat(dataSource.permisosDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void siCerrarFallaElPermisoSeLiberaIgual() throws SQLException {
+        when(destino.getConnection()).thenReturn(conexion);
+        doThrow(new SQLException("conexión rota")).when(conexion).close();
+        var dataSource = new DataSourceLimitado(destino, 1, ESPERA);
+
+        var conexionLimitada = dataSource.getConnection();
+
+        assertThatThrownBy(conexionLimitada::close).isInstanceOf(SQLException.class);
+        assertThat(dataSource.permisosDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void sinPermisosFallaTrasLaEsperaMaximaYSeRecuperaAlCerrar() throws SQLException {
+        when(destino.getConnection()).thenReturn(conexion);
+        var dataSource = new DataSourceLimitado(destino, 1, ESPERA);
+        var ocupada = dataSource.getConnection();
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(CannotGetJdbcConnectionException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isGreaterThanOrEqualTo(ESPERA);
+        assertThat(dataSource.permisosDisponibles()).isZero();
+
+        ocupada.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void interrumpidoMientrasEsperaFallaSinConsumirPermiso() throws SQLException {
+        var dataSource = new DataSourceLimitado(destino, 1, Duration.ofMinutes(1));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(CannotGetJdbcConnectionException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(dataSource.permisosDisponibles()).isEqualTo(1);
+    }
+}
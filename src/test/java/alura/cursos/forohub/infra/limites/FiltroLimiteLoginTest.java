@@ -0,0 +1,146 @@
+package alura.cursos.forohub.infra.limites;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroLimiteLoginTest {
+
+    private static final String CREDENCIALES = """
+            {"correoElectronico":"ana@forohub.com","contrasena":"x"}""";
+
+    private final AlmacenLimitesMemoria almacen = new AlmacenLimitesMemoria(Duration.ofHours(1), 1000, new AtomicLong()::get);
+    private final LimitadorTasa limitador = new LimitadorTasa(almacen, true,
+            new Limite("login-ip", 100, Duration.ofMinutes(1)),
+            new Limite("login-correo", 2, Duration.ofMinutes(1)),
+            new Limite("escritura-usuario", 5, Duration.ofMinutes(1)));
+    private final FiltroLimiteLogin filtro = new FiltroLimiteLogin(limitador, JsonMapper.builder().build());
+
+    @Test
+    void elCuerpoSeReenviaPorElLectorConSuLongitud() throws Exception {
+        var request = login(CREDENCIALES);
+        var recibido = new StringBuilder();
+
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertThat(req.getContentLengthLong()).isEqualTo(CREDENCIALES.length());
+            req.getReader().lines().forEach(recibido::append);
+            assertThat(req.getInputStream().isFinished()).isTrue();
+        });
+
+        assertThat(recibido.toString()).isEqualTo(CREDENCIALES);
+    }
+
+    @Test
+    void elCuerpoSeReenviaALaLecturaAsincrona() throws Exception {
+        var eventos = new ArrayList<String>();
+        var recibido = new ByteArrayOutputStream();
+
+        filtro.doFilter(login(CREDENCIALES), new MockHttpServletResponse(), (req, res) -> leerAsincrono(req, recibido, eventos));
+
+        assertThat(recibido.toString(StandardCharsets.UTF_8)).isEqualTo(CREDENCIALES);
+        assertThat(eventos).containsExactly("datos", "fin");
+    }
+
+    @Test
+    void elCuerpoDemasiadoGrandeSeRechazaSinGastarNiLlegarAlControlador() throws Exception {
+        // Relleno tras el correo: antes se dejaba pasar sin correo y solo contaba el límite por IP
+        var relleno = CREDENCIALES.replace("}", ",\"relleno\":\"" + "x".repeat(FiltroLimiteLogin.MAX_CUERPO) + "\"}");
+
+        for (int i = 0; i < 3; i++) {
+            // Con Content-Length y sin él (Transfer-Encoding: chunked)
+            for (var request : List.of(login(relleno), sinLongitud(login(relleno)))) {
+                var response = new MockHttpServletResponse();
+                filtro.doFilter(request, response, (req, res) -> {
+                    throw new AssertionError("No debe llegar al controlador");
+                });
+                assertThat(response.getStatus()).isEqualTo(413);
+            }
+        }
+        assertThat(limitador.rechazos().get("login-correo").sum()).isZero();
+    }
+
+    @Test
+    void alAgotarElCorreoResponde429ConRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            var response = new MockHttpServletResponse();
+            filtro.doFilter(login(CREDENCIALES), response, (req, res) -> { });
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(login(CREDENCIALES), response, (req, res) -> {
+            throw new AssertionError("No debe llegar al controlador");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("\"campo\":\"limite\"");
+    }
+
+    private static void leerAsincrono(ServletRequest req, ByteArrayOutputStream recibido, List<String> eventos)
+            throws IOException {
+        var entrada = req.getInputStream();
+        entrada.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                eventos.add("datos");
+                var bloque = new byte[16];
+                while (entrada.isReady() && !entrada.isFinished()) {
+                    int n = entrada.read(bloque);
+                    if (n > 0) {
+                        recibido.write(bloque, 0, n);
+                    }
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                eventos.add("fin");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                eventos.add("error");
+            }
+        });
+    }
+
+    private static HttpServletRequest sinLongitud(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+
+    private static MockHttpServletRequest login(String cuerpo) {
+        var request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType("application/json");
+        request.setContent(cuerpo.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,95 @@
+package alura.cursos.forohub.infra.limites;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorTasaTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final AlmacenLimitesMemoria almacen = new AlmacenLimitesMemoria(Duration.ofHours(1), 1000, reloj::get);
+    private final LimitadorTasa limitador = new LimitadorTasa(almacen, true,
+            new Limite("login-ip", 10, Duration.ofMinutes(1)),
+            new Limite("login-correo", 3, Duration.ofMinutes(1)),
+            new Limite("escritura-usuario", 5, Duration.ofMinutes(1)));
+
+    @Test
+    void elCuboPermiteLaRafagaYLuegoUnTokenPorIntervalo() {
+        var limite = new Limite("prueba", 3, Duration.ofSeconds(30));
+
+        IntStream.range(0, 3).forEach(i -> assertThat(almacen.consumir("a", limite)).isZero());
+        assertThat(almacen.consumir("a", limite)).isEqualTo(Duration.ofSeconds(10).toNanos());
+        assertThat(almacen.consumir("b", limite)).isZero();
+
+        reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(almacen.consumir("a", limite)).isZero();
+        assertThat(almacen.consumir("a", limite)).isPositive();
+    }
+
+    @Test
+    void bajoConcurrenciaNoSeConcedenMasTokensQueLaCapacidad() throws InterruptedException {
+        var limite = new Limite("prueba", 100, Duration.ofMinutes(1));
+        var permitidas = new AtomicInteger();
+
+        try (var hilos = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 1000).forEach(i -> hilos.execute(() -> {
+                if (almacen.consumir("compartida", limite) == 0) {
+                    permitidas.incrementAndGet();
+                }
+            }));
+        }
+
+        assertThat(permitidas).hasValue(100);
+    }
+
+    @Test
+    void loginSeLimitaPorCorreoSinImportarMayusculasYReenviaElCuerpo() throws Exception {
+        var filtro = new FiltroLimiteLogin(limitador, JsonMapper.builder().build());
+        var cuerpoRecibido = new StringBuilder();
+
+        for (int i = 0; i < 3; i++) {
+            var respuesta = login(filtro, i % 2 == 0 ? "ana@forohub.com" : " ANA@forohub.com", cuerpoRecibido);
+            assertThat(respuesta.getStatus()).isEqualTo(200);
+        }
+        assertThat(cuerpoRecibido.toString()).startsWith("{\"correoElectronico\":\"ana@forohub.com\"");
+
+        var rechazada = login(filtro, "ana@forohub.com", new StringBuilder());
+        assertThat(rechazada.getStatus()).isEqualTo(429);
+        assertThat(rechazada.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("20");
+        assertThat(login(filtro, "otra@forohub.com", new StringBuilder()).getStatus()).isEqualTo(200);
+        assertThat(limitador.rechazos().get("login-correo").sum()).isEqualTo(1);
+    }
+
+    @Test
+    void lasEscriturasSeLimitanPorUsuario() {
+        IntStream.range(0, 5).forEach(i -> assertThat(limitador.escritura(1L)).isZero());
+
+        assertThat(limitador.escritura(1L)).isPositive();
+        assertThat(limitador.escritura(2L)).isZero();
+    }
+
+    private static MockHttpServletResponse login(FiltroLimiteLogin filtro, String correo, StringBuilder cuerpoRecibido)
+            throws Exception {
+        var request = new MockHttpServletRequest("POST", "/login");
+        request.setServletPath("/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType("application/json");
+        request.setContent("""
+                {"correoElectronico":"%s","contrasena":"x"}""".formatted(correo).getBytes(StandardCharsets.UTF_8));
+        var response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, (req, res) ->
+                cuerpoRecibido.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+        return response;
+    }
+}
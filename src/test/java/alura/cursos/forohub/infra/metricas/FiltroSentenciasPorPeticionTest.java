@@ -0,0 +1,40 @@
+package alura.cursos.forohub.infra.metricas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroSentenciasPorPeticionTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final FiltroSentenciasPorPeticion filtro = new FiltroSentenciasPorPeticion(registry);
+    private final ContadorSentencias inspector = new ContadorSentencias();
+
+    @Test
+    void registraLasSentenciasDeCadaPeticionPorPatron() throws Exception {
+        ejecutar(3);
+        ejecutar(1);
+
+        var resumen = registry.get("forohub.jdbc.sentencias")
+                .tag("method", "GET")
+                .tag("uri", "/topicos/{id}")
+                .summary();
+        assertThat(resumen.count()).isEqualTo(2);
+        assertThat(resumen.totalAmount()).isEqualTo(4);
+        assertThat(resumen.max()).isEqualTo(3);
+    }
+
+    private void ejecutar(int sentencias) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/topicos/7");
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < sentencias; i++) {
+                inspector.inspect("select 1");
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/topicos/{id}");
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutado primaria/réplica con el gestor de transacciones de la aplicación (JpaTransactionManager con
+ * HibernateJpaDialect): el readOnly de la transacción debe llegar al LazyConnectionDataSourceProxy antes de
+ * que Hibernate pida la conexión física.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:replica-jpa-primaria;DB_CLOSE_DELAY=-1",
+        "forohub.replica.url=jdbc:h2:mem:replica-jpa-replica;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ConfiguracionReplica.class)
+// Sin transacción de prueba: cada caso abre la suya, de lectura o de escritura
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConfiguracionReplicaJpaTest {
+
+    @Autowired
+    private PlatformTransactionManager transacciones;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    @Qualifier("dataSourcePrimaria")
+    private DataSource primaria;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource replica;
+
+    @BeforeEach
+    void prepararBases() {
+        crearOrigen(primaria, "primaria");
+        crearOrigen(replica, "replica");
+    }
+
+    @AfterEach
+    void limpiar() {
+        LecturaPropia.forzarPrimaria(false);
+    }
+
+    @Test
+    void laAplicacionUsaJpaTransactionManager() {
+        assertThat(transacciones).isInstanceOf(JpaTransactionManager.class);
+    }
+
+    @Test
+    void lasTransaccionesJpaDeSoloLecturaVanALaReplica() {
+        assertThat(leer(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void lasTransaccionesJpaDeEscrituraVanALaPrimaria() {
+        assertThat(leer(false)).isEqualTo("primaria");
+    }
+
+    @Test
+    void dentroDeLaVentanaDeLecturaPropiaLaLecturaJpaVaALaPrimaria() {
+        LecturaPropia.forzarPrimaria(true);
+
+        assertThat(leer(true)).isEqualTo("primaria");
+    }
+
+    private String leer(boolean soloLectura) {
+        var transaccion = new TransactionTemplate(transacciones);
+        transaccion.setReadOnly(soloLectura);
+        return transaccion.execute(estado ->
+                (String) em.createNativeQuery("SELECT nombre FROM origen").getSingleResult());
+    }
+
+    private static void crearOrigen(DataSource dataSource, String nombre) {
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS origen");
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+    }
+}
@@ -0,0 +1,81 @@
+package alura.cursos.forohub.infra.persistencia;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfiguracionReplicaTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate lectura;
+    private TransactionTemplate escritura;
+
+    @BeforeEach
+    void prepararBases() {
+        var primaria = baseConOrigen("primaria");
+        var replica = baseConOrigen("replica");
+
+        var enrutado = ConfiguracionReplica.enrutar(primaria, replica);
+        var transacciones = new DataSourceTransactionManager(enrutado);
+        jdbc = new JdbcTemplate(enrutado);
+        escritura = new TransactionTemplate(transacciones);
+        lectura = new TransactionTemplate(transacciones);
+        lectura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void limpiar() {
+        LecturaPropia.forzarPrimaria(false);
+    }
+
+    @Test
+    void lasTransaccionesDeSoloLecturaVanALaReplica() {
+        assertThat(leer(lectura)).isEqualTo("replica");
+    }
+
+    @Test
+    void lasEscriturasVanALaPrimaria() {
+        assertThat(leer(escritura)).isEqualTo("primaria");
+    }
+
+    @Test
+    void dentroDeLaVentanaDeLecturaPropiaSeLeeDeLaPrimaria() {
+        LecturaPropia.forzarPrimaria(true);
+
+        assertThat(leer(lectura)).isEqualTo("primaria");
+    }
+
+    @Test
+    void laVentanaDeLecturaPropiaExpira() throws InterruptedException {
+        var lecturaPropia = new LecturaPropia(Duration.ofMillis(50));
+        lecturaPropia.registrarEscritura(7L);
+
+        assertThat(lecturaPropia.escribioRecientemente(7L)).isTrue();
+        assertThat(lecturaPropia.escribioRecientemente(8L)).isFalse();
+        Thread.sleep(100);
+        assertThat(lecturaPropia.escribioRecientemente(7L)).isFalse();
+    }
+
+    private String leer(TransactionTemplate transaccion) {
+        return transaccion.execute(estado -> jdbc.queryForObject("SELECT nombre FROM origen", String.class));
+    }
+
+    private static DataSource baseConOrigen(String nombre) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nombre + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO origen VALUES (?)", nombre);
+        return dataSource;
+    }
+}
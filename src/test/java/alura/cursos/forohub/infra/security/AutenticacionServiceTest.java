@@ -0,0 +1,86 @@
+package alura.cursos.forohub.infra.security;
+
+import alura.cursos.forohub.domain.usuario.Usuario;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rehash transparente al iniciar sesión con el proveedor que configura SecurityConfigurations.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(AutenticacionService.class)
+class AutenticacionServiceTest {
+
+    @Autowired
+    private AutenticacionService autenticacionService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void unHashSinPrefijoYDeMenorCostoSeActualizaAlIniciarSesion() {
+        var id = crearUsuario(new BCryptPasswordEncoder(4).encode("123456"));
+
+        proveedor().authenticate(new UsernamePasswordAuthenticationToken("ana@forohub.com", "123456"));
+
+        var hash = contrasenaGuardada(id);
+        assertThat(hash).startsWith("{bcrypt}$2a$10$");
+        assertThat(new BCryptPasswordEncoder().matches("123456", hash.substring("{bcrypt}".length()))).isTrue();
+    }
+
+    @Test
+    void unHashVigenteNoSeReescribe() {
+        var vigente = "{bcrypt}" + new BCryptPasswordEncoder(10).encode("123456");
+        var id = crearUsuario(vigente);
+
+        proveedor().authenticate(new UsernamePasswordAuthenticationToken("ana@forohub.com", "123456"));
+
+        assertThat(contrasenaGuardada(id)).isEqualTo(vigente);
+    }
+
+    @Test
+    void unaContrasenaIncorrectaNoActualizaElHash() {
+        var antiguo = new BCryptPasswordEncoder(4).encode("123456");
+        var id = crearUsuario(antiguo);
+
+        assertThatThrownBy(() -> proveedor().authenticate(
+                new UsernamePasswordAuthenticationToken("ana@forohub.com", "otra")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        assertThat(contrasenaGuardada(id)).isEqualTo(antiguo);
+    }
+
+    private DaoAuthenticationProvider proveedor() {
+        var configuracion = new SecurityConfigurations(null, autenticacionService, null, null, null);
+        ReflectionTestUtils.setField(configuracion, "fuerzaBcrypt", 10);
+        return configuracion.authenticationProvider();
+    }
+
+    private Long crearUsuario(String hash) {
+        var usuario = new Usuario();
+        usuario.setNombre("Ana");
+        usuario.setCorreoElectronico("ana@forohub.com");
+        usuario.setContrasena(hash);
+        em.persist(usuario);
+        em.flush();
+        em.clear();
+        return usuario.getId();
+    }
+
+    private String contrasenaGuardada(Long id) {
+        em.flush();
+        em.clear();
+        return em.find(Usuario.class, id).getContrasena();
+    }
+}
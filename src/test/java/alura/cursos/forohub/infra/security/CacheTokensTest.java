@@ -0,0 +1,87 @@
+package alura.cursos.forohub.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheTokensTest {
+
+    private static final Instant INICIO = Instant.parse("2026-01-01T00:00:00Z");
+    private static final UsuarioPrincipal PRINCIPAL =
+            new UsuarioPrincipal(1L, "Ana", "ana@forohub.com", List.of("ROLE_USER"));
+
+    // Un único reloj falso (nanos desde INICIO) para el ticker de Caffeine y para la hora de pared
+    private final AtomicLong nanos = new AtomicLong();
+    private final InstantSource reloj = () -> INICIO.plusNanos(nanos.get());
+    private final CacheTokens cache = new CacheTokens(100, Duration.ofMinutes(5), nanos::get, reloj);
+
+    @Test
+    void laEntradaVenceEnElExpDelTokenSiEsAnteriorAlTtl() {
+        cache.guardar("token", PRINCIPAL, INICIO.plusSeconds(30));
+
+        avanzar(Duration.ofSeconds(29));
+        assertThat(cache.obtener("token")).isEqualTo(PRINCIPAL);
+
+        avanzar(Duration.ofSeconds(2));
+        assertThat(cache.obtener("token")).isNull();
+    }
+
+    @Test
+    void laEntradaVenceEnElTtlSiElTokenDuraMas() {
+        cache.guardar("token", PRINCIPAL, INICIO.plus(Duration.ofHours(24)));
+
+        avanzar(Duration.ofMinutes(5).minusSeconds(1));
+        assertThat(cache.obtener("token")).isEqualTo(PRINCIPAL);
+
+        avanzar(Duration.ofSeconds(2));
+        assertThat(cache.obtener("token")).isNull();
+    }
+
+    @Test
+    void noGuardaTokensYaVencidosNiSinExp() {
+        cache.guardar("vencido", PRINCIPAL, INICIO);
+        cache.guardar("sin-exp", PRINCIPAL, null);
+
+        assertThat(cache.obtener("vencido")).isNull();
+        assertThat(cache.obtener("sin-exp")).isNull();
+        assertThat(cache.tamanio()).isZero();
+    }
+
+    @Test
+    void cuentaAciertosYFallos() {
+        cache.guardar("token", PRINCIPAL, INICIO.plusSeconds(60));
+
+        cache.obtener("token");
+        cache.obtener("token");
+        cache.obtener("otro");
+
+        assertThat(cache.aciertos()).isEqualTo(2);
+        assertThat(cache.fallos()).isEqualTo(1);
+    }
+
+    @Test
+    void laClaveEsElSha256DelTokenEnHexadecimal() {
+        assertThat(CacheTokens.clave("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(CacheTokens.clave("abd")).isNotEqualTo(CacheTokens.clave("abc"));
+    }
+
+    @Test
+    void invalidarTodoVaciaLaCache() {
+        cache.guardar("token", PRINCIPAL, INICIO.plusSeconds(60));
+
+        cache.invalidarTodo();
+
+        assertThat(cache.obtener("token")).isNull();
+    }
+
+    private void avanzar(Duration duracion) {
+        nanos.addAndGet(duracion.toNanos());
+    }
+}
@@ -0,0 +1,84 @@
+package alura.cursos.forohub.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistroRevocacionesTest {
+
+    private static final Instant AHORA = Instant.parse("2026-01-01T10:00:00.700Z");
+
+    private final CacheTokens cacheTokens = new CacheTokens(100, Duration.ofMinutes(5));
+    private final AtomicReference<Instant> ahora = new AtomicReference<>(AHORA);
+    private final RegistroRevocaciones registro =
+            new RegistroRevocaciones(cacheTokens, Duration.ofHours(24), ahora::get);
+
+    @Test
+    void sinRevocacionNingunTokenEstaRevocado() {
+        assertThat(registro.estaRevocado(1L, AHORA.minusSeconds(60))).isFalse();
+    }
+
+    @Test
+    void revocaLosTokensEmitidosAntesYEnElMismoSegundo() {
+        registro.revocar(1L);
+
+        assertThat(registro.estaRevocado(1L, Instant.parse("2026-01-01T09:59:59Z"))).isTrue();
+        // iat truncado a segundos: emitido a las 10:00:00.200, antes de la revocación
+        assertThat(registro.estaRevocado(1L, Instant.parse("2026-01-01T10:00:00Z"))).isTrue();
+        assertThat(registro.estaRevocado(1L, null)).isTrue();
+    }
+
+    @Test
+    void losTokensDelSegundoSiguienteYDeOtrosUsuariosSiguenValiendo() {
+        registro.revocar(1L);
+
+        assertThat(registro.estaRevocado(1L, Instant.parse("2026-01-01T10:00:01Z"))).isFalse();
+        assertThat(registro.estaRevocado(2L, Instant.parse("2026-01-01T09:59:59Z"))).isFalse();
+    }
+
+    @Test
+    void revocarVaciaLaCacheDeTokensVerificados() {
+        var principal = new UsuarioPrincipal(1L, "Ana", "ana@forohub.com", List.of("ROLE_USER"));
+        cacheTokens.guardar("token", principal, Instant.now().plusSeconds(60));
+
+        registro.revocar(1L);
+
+        assertThat(cacheTokens.obtener("token")).isNull();
+    }
+
+    @Test
+    void revocarSoloVaciaLosTokensVerificadosDelUsuario() {
+        cacheTokens.guardar("token-ana", principal(1L), Instant.now().plusSeconds(60));
+        cacheTokens.guardar("token-luis", principal(2L), Instant.now().plusSeconds(60));
+
+        registro.revocar(1L);
+
+        assertThat(cacheTokens.obtener("token-ana")).isNull();
+        assertThat(cacheTokens.obtener("token-luis")).isNotNull();
+    }
+
+    @Test
+    void laDepuracionDescartaLasRevocacionesMasViejasQueLaVigenciaDeLosTokens() {
+        registro.revocar(1L);
+        ahora.set(AHORA.plus(Duration.ofHours(12)));
+        registro.revocar(2L);
+
+        ahora.set(AHORA.plus(Duration.ofHours(24)));
+        registro.depurar();
+        assertThat(registro.tamanio()).isEqualTo(2);
+
+        ahora.set(AHORA.plus(Duration.ofHours(24)).plusSeconds(2));
+        registro.depurar();
+        assertThat(registro.tamanio()).isEqualTo(1);
+        assertThat(registro.estaRevocado(2L, AHORA)).isTrue();
+    }
+
+    private static UsuarioPrincipal principal(Long id) {
+        return new UsuarioPrincipal(id, "Usuario " + id, "usuario" + id + "@forohub.com", List.of("ROLE_USER"));
+    }
+}
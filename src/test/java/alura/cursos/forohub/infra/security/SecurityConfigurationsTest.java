@@ -0,0 +1,32 @@
+package alura.cursos.forohub.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigurationsTest {
+
+    @Test
+    void prometheusSinTokenSoloPorElPuertoDeGestionSeparado() {
+        var gestion = SecurityConfigurations.puertoDeGestion(8081, 8080);
+
+        assertThat(gestion.matches(prometheus(8081))).isTrue();
+        assertThat(gestion.matches(prometheus(8080))).isFalse();
+        var otraRuta = new MockHttpServletRequest("GET", "/topicos");
+        otraRuta.setLocalPort(8081);
+        assertThat(gestion.matches(otraRuta)).isFalse();
+    }
+
+    @Test
+    void sinPuertoDeGestionSeparadoPrometheusRequiereAutenticacion() {
+        assertThat(SecurityConfigurations.puertoDeGestion(null, 8080).matches(prometheus(8080))).isFalse();
+        assertThat(SecurityConfigurations.puertoDeGestion(8080, 8080).matches(prometheus(8080))).isFalse();
+    }
+
+    private static MockHttpServletRequest prometheus(int puerto) {
+        var request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setLocalPort(puerto);
+        return request;
+    }
+}
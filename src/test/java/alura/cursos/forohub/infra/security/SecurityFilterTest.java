@@ -0,0 +1,76 @@
+package alura.cursos.forohub.infra.security;
+
+import alura.cursos.forohub.domain.perfil.Perfil;
+import alura.cursos.forohub.domain.usuario.Usuario;
+import alura.cursos.forohub.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class SecurityFilterTest {
+
+    private final TokenService tokenService = new TokenService("secreto-de-prueba-con-al-menos-32-caracteres", 86_400_000);
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final CacheTokens cacheTokens = new CacheTokens(100, Duration.ofMinutes(5));
+    private final RegistroRevocaciones registroRevocaciones = new RegistroRevocaciones(cacheTokens, 86_400_000);
+    private final SecurityFilter filtro =
+            new SecurityFilter(tokenService, usuarioRepository, cacheTokens, registroRevocaciones, true);
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sinEstadoAutenticaConLosClaimsDelTokenSinConsultarUsuario() throws Exception {
+        var token = tokenService.generarToken(usuario());
+
+        var principal = autenticar(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.id()).isEqualTo(7L);
+        assertThat(principal.nombre()).isEqualTo("Ana");
+        assertThat(principal.roles()).containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MODERADOR");
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void unTokenRevocadoYaNoAutenticaAunqueEstuvieraEnCache() throws Exception {
+        var token = tokenService.generarToken(usuario());
+        assertThat(autenticar(token)).isNotNull();
+        assertThat(cacheTokens.tamanio()).isEqualTo(1);
+
+        registroRevocaciones.revocar(7L);
+        SecurityContextHolder.clearContext();
+
+        assertThat(autenticar(token)).isNull();
+        assertThat(cacheTokens.tamanio()).isZero();
+    }
+
+    private UsuarioPrincipal autenticar(String token) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/topicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        var autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacion != null ? (UsuarioPrincipal) autenticacion.getPrincipal() : null;
+    }
+
+    private static Usuario usuario() {
+        var usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNombre("Ana");
+        usuario.setCorreoElectronico("ana@forohub.com");
+        usuario.setPerfiles(Set.of(new Perfil(1L, "ROLE_ADMIN"), new Perfil(3L, "ROLE_MODERADOR")));
+        return usuario;
+    }
+}
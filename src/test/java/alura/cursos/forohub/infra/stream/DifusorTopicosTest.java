@@ -0,0 +1,130 @@
+package alura.cursos.forohub.infra.stream;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DifusorTopicosTest {
+
+    private static final long ARRANQUE = 1_700_000_000_000L;
+
+    private DifusorTopicos difusor;
+
+    @BeforeEach
+    void crearDifusor() {
+        // Ejecutor que no envía nada: los eventos quedan en el buffer de cada suscripción; reparto síncrono
+        difusor = new DifusorTopicos(JsonMapper.builder().build(), tarea -> { }, Runnable::run, ARRANQUE,
+                5, 3, 4, Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void bufferLlenoDescartaLosEventosMasAntiguos() {
+        difusor.suscribir(null, null);
+        for (long id = 1; id <= 5; id++) {
+            difusor.alCambiarTopico(evento(id, "Java"));
+        }
+
+        assertThat(unicaSuscripcion().idsPendientes()).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void consumidorQueNoAvanzaEsExpulsado() {
+        difusor.suscribir(null, null);
+        for (long id = 1; id <= 8; id++) {
+            difusor.alCambiarTopico(evento(id, "Java"));
+        }
+
+        assertThat(difusor.suscriptores()).isZero();
+    }
+
+    @Test
+    void filtraPorCursoPeroEntregaLasEliminaciones() {
+        difusor.suscribir("java", null);
+        difusor.alCambiarTopico(evento(1, "Java"));
+        difusor.alCambiarTopico(evento(2, "Spring"));
+        difusor.alCambiarTopico(new EventoTopico(TipoEventoTopico.ELIMINADO, 9L, null));
+
+        assertThat(unicaSuscripcion().idsPendientes()).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void lastEventIdReenviaLosEventosDelHistorial() {
+        difusor.alCambiarTopico(evento(1, "Java"));
+        difusor.alCambiarTopico(evento(2, "Java"));
+        difusor.alCambiarTopico(evento(3, "Java"));
+
+        difusor.suscribir(null, difusor.idEvento(1));
+
+        assertThat(unicaSuscripcion().idsPendientes()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void lastEventIdFueraDelHistorialPideResincronizar() {
+        for (long id = 1; id <= 8; id++) {
+            difusor.alCambiarTopico(evento(id, "Java"));
+        }
+
+        difusor.suscribir(null, difusor.idEvento(1));
+
+        // Solo un evento RESINCRONIZAR con el id actual, para que el cliente recargue el listado
+        assertThat(unicaSuscripcion().idsPendientes()).containsExactly(8L);
+    }
+
+    @Test
+    void lastEventIdDeOtroArranquePideResincronizarAunqueLaSecuenciaExista() {
+        difusor.alCambiarTopico(evento(1, "Java"));
+        difusor.alCambiarTopico(evento(2, "Java"));
+        difusor.alCambiarTopico(evento(3, "Java"));
+
+        // Mismo número de secuencia, pero emitido antes de un reinicio (o sin prefijo de arranque)
+        difusor.suscribir(null, (ARRANQUE - 1) + "-1");
+        difusor.suscribir(null, "1");
+
+        assertThat(difusor.suscripciones()).allSatisfy(suscripcion ->
+                assertThat(suscripcion.idsPendientes()).containsExactly(3L));
+    }
+
+    @Test
+    void elRepartoCorreEnElDespachadorYNoDuplicaLoYaReenviado() {
+        var encolados = new ArrayList<Runnable>();
+        difusor = new DifusorTopicos(JsonMapper.builder().build(), tarea -> { }, encolados::add, ARRANQUE,
+                5, 3, 4, Duration.ofSeconds(30), Duration.ofMinutes(1));
+        var previa = difusor.suscribir(null, null);
+        difusor.alCambiarTopico(evento(1, "Java"));
+        difusor.alCambiarTopico(evento(2, "Java"));
+
+        // Publicar no entrega nada por sí mismo
+        assertThat(difusor.suscripciones()).allSatisfy(s -> assertThat(s.idsPendientes()).isEmpty());
+
+        // Suscripción nueva que reanuda desde 1 antes de que el despachador reparta el 2
+        difusor.suscribir(null, difusor.idEvento(1));
+        encolados.forEach(Runnable::run);
+
+        for (var suscripcion : difusor.suscripciones()) {
+            var esperados = suscripcion.emitter() == previa ? List.of(1L, 2L) : List.of(2L);
+            assertThat(suscripcion.idsPendientes()).isEqualTo(esperados);
+        }
+    }
+
+    private SuscripcionTopicos unicaSuscripcion() {
+        assertThat(difusor.suscripciones()).hasSize(1);
+        return difusor.suscripciones().iterator().next();
+    }
+
+    private static EventoTopico evento(long id, String curso) {
+        var datos = new DatosListadoTopico(id, "Título " + id, "Mensaje " + id, LocalDateTime.of(2026, 1, 1, 10, 0),
+                StatusTopico.ABIERTO, "Autor", curso, 0, 0L);
+        return new EventoTopico(TipoEventoTopico.CREADO, id, datos);
+    }
+}
@@ -0,0 +1,195 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.EventoTopico;
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.TipoEventoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.infra.persistencia.LecturaPropia;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheRespuestasTest {
+
+    private static final PageRequest PRIMERA = PageRequest.of(0, 10, Sort.by("fechaCreacion"));
+
+    private final CacheRespuestas cache = new CacheRespuestas(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), 5, Duration.ofSeconds(5));
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    @Test
+    void losFallosConcurrentesSobreLaMismaClaveHacenUnaSolaCarga() throws InterruptedException {
+        var cargando = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        var clave = ClaveRespuesta.topico(1L);
+        var recibidas = new AtomicInteger();
+
+        try (var hilos = Executors.newFixedThreadPool(16)) {
+            hilos.execute(() -> cache.obtener(clave, () -> {
+                cargas.incrementAndGet();
+                cargando.countDown();
+                esperar(liberar);
+                return respuesta(1L);
+            }));
+            assertThat(cargando.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 50; i++) {
+                hilos.execute(() -> {
+                    var respuesta = cache.obtener(clave, () -> {
+                        cargas.incrementAndGet();
+                        return respuesta(1L);
+                    });
+                    if (respuesta.ids().contains(1L)) {
+                        recibidas.incrementAndGet();
+                    }
+                });
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+        }
+
+        assertThat(cargas).hasValue(1);
+        assertThat(recibidas).hasValue(50);
+        assertThat(cache.fallos()).isEqualTo(1);
+        assertThat(cache.agrupadas() + cache.aciertos()).isEqualTo(50);
+    }
+
+    @Test
+    void soloSeCacheanLasPrimerasPaginasConElOrdenPorDefecto() {
+        assertThat(ClaveRespuesta.listado(null, null, PRIMERA, 5)).isNotNull();
+        assertThat(ClaveRespuesta.listado(" Java ", null, PRIMERA, 5))
+                .isEqualTo(ClaveRespuesta.listado("Java", null, PRIMERA, 5));
+        assertThat(ClaveRespuesta.listado(null, null, PageRequest.of(5, 10, Sort.by("fechaCreacion")), 5)).isNull();
+        assertThat(ClaveRespuesta.listado(null, null, PageRequest.of(0, 10, Sort.by("titulo")), 5)).isNull();
+    }
+
+    @Test
+    void unaEdicionInvalidaElDetalleYLasPaginasQueContienenAlTopico() {
+        var conTopico = ClaveRespuesta.listado(null, null, PRIMERA, 5);
+        var sinTopico = ClaveRespuesta.listado(null, null, PageRequest.of(1, 10, Sort.by("fechaCreacion")), 5);
+        var porCurso = ClaveRespuesta.listado("Java", null, PRIMERA, 5);
+        cargar(ClaveRespuesta.topico(1L), Set.of(1L));
+        cargar(ClaveRespuesta.topico(2L), Set.of(2L));
+        cargar(conTopico, Set.of(1L, 3L));
+        cargar(sinTopico, Set.of(4L));
+        cargar(porCurso, Set.of(4L));
+        cargas.set(0);
+
+        cache.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, 1L, datos(1L, "Spring")));
+
+        cargar(ClaveRespuesta.topico(1L), Set.of(1L));
+        cargar(conTopico, Set.of(1L, 3L));
+        cargar(porCurso, Set.of(4L));
+        assertThat(cargas).hasValue(3);
+        cargar(ClaveRespuesta.topico(2L), Set.of(2L));
+        cargar(sinTopico, Set.of(4L));
+        assertThat(cargas).hasValue(3);
+    }
+
+    @Test
+    void unAltaInvalidaLosListadosSinCursoYLosDeSuCurso() {
+        var general = ClaveRespuesta.listado(null, null, PRIMERA, 5);
+        var java = ClaveRespuesta.listado("java", null, PRIMERA, 5);
+        var spring = ClaveRespuesta.listado("Spring", null, PRIMERA, 5);
+        cargar(general, Set.of(1L));
+        cargar(java, Set.of(1L));
+        cargar(spring, Set.of(2L));
+        cargas.set(0);
+
+        cache.alCambiarTopico(new EventoTopico(TipoEventoTopico.CREADO, 9L, datos(9L, "Java")));
+
+        cargar(general, Set.of(1L, 9L));
+        cargar(java, Set.of(1L, 9L));
+        cargar(spring, Set.of(2L));
+        assertThat(cargas).hasValue(2);
+    }
+
+    @Test
+    void unaCargaQueEmpezoAntesDeUnaInvalidacionNoSeGuarda() {
+        var clave = ClaveRespuesta.topico(1L);
+        cache.obtener(clave, () -> {
+            cache.alCambiarTopico(new EventoTopico(TipoEventoTopico.ELIMINADO, 7L, null));
+            return respuesta(1L);
+        });
+
+        cargar(clave, Set.of(1L));
+        assertThat(cargas).hasValue(1);
+    }
+
+    @Test
+    void trasUnCambioLaCargaLeeDeLaPrimaria() {
+        var enPrimaria = new ArrayList<Boolean>();
+        cache.obtener(ClaveRespuesta.topico(2L), () -> {
+            enPrimaria.add(LecturaPropia.primariaForzada());
+            return respuesta(2L);
+        });
+
+        cache.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, 1L, datos(1L, "Java")));
+        cache.obtener(ClaveRespuesta.topico(1L), () -> {
+            enPrimaria.add(LecturaPropia.primariaForzada());
+            return respuesta(1L);
+        });
+
+        assertThat(enPrimaria).containsExactly(false, true);
+        assertThat(LecturaPropia.primariaForzada()).isFalse();
+    }
+
+    @Test
+    void unDetalleAnteriorALaVersionConfirmadaSeEntregaPeroNoSeGuarda() {
+        var clave = ClaveRespuesta.topico(1L);
+        cache.alCambiarTopico(new EventoTopico(TipoEventoTopico.ACTUALIZADO, 1L, datos(1L, "Java")));
+
+        var atrasada = new RespuestaCacheada(new byte[10], "\"1-0\"", -1, Set.of(1L), "Título");
+        assertThat(cache.obtener(clave, () -> atrasada)).isSameAs(atrasada);
+        assertThat(cache.cargada(clave)).isFalse();
+
+        cache.obtener(clave, () -> new RespuestaCacheada(new byte[10], "\"1-1\"", -1, Set.of(1L), "Título"));
+        assertThat(cache.cargada(clave)).isTrue();
+    }
+
+    @Test
+    void losErroresSePropaganYNoSeCachean() {
+        var clave = ClaveRespuesta.topico(1L);
+
+        assertThatThrownBy(() -> cache.obtener(clave, () -> {
+            throw new EntityNotFoundException("Tópico con ID 1 no encontrado");
+        })).isInstanceOf(EntityNotFoundException.class);
+
+        cargar(clave, Set.of(1L));
+        assertThat(cargas).hasValue(1);
+    }
+
+    private void cargar(ClaveRespuesta clave, Set<Long> ids) {
+        cache.obtener(clave, () -> {
+            cargas.incrementAndGet();
+            return new RespuestaCacheada(new byte[10], "W/\"1\"", -1, ids, null);
+        });
+    }
+
+    private static RespuestaCacheada respuesta(Long id) {
+        return new RespuestaCacheada(new byte[10], "\"" + id + "-0\"", -1, Set.of(id), "Título");
+    }
+
+    private static DatosListadoTopico datos(Long id, String curso) {
+        return new DatosListadoTopico(id, "Título", "Mensaje", null, StatusTopico.ABIERTO, "Autor", curso, 0, 1L);
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTopicosTest {
+
+    @Test
+    void camposSimplesNoLlevanComillas() {
+        assertThat(CsvTopicos.campo("Spring Boot")).isEqualTo("Spring Boot");
+    }
+
+    @Test
+    void comasComillasYSaltosDeLineaSeEscapan() {
+        assertThat(CsvTopicos.campo("Hola, \"mundo\"\nadiós")).isEqualTo("\"Hola, \"\"mundo\"\"\nadiós\"");
+    }
+
+    @Test
+    void lasFormulasSeNeutralizanConUnApostrofo() {
+        assertThat(CsvTopicos.campo("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(CsvTopicos.campo("+1")).isEqualTo("'+1");
+        assertThat(CsvTopicos.campo("-2")).isEqualTo("'-2");
+        assertThat(CsvTopicos.campo("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(CsvTopicos.campo("Precio = 3")).isEqualTo("Precio = 3");
+    }
+
+    @Test
+    void filaCompleta() {
+        var topico = new DatosListadoTopico(7L, "Error, JPA", "Mensaje", LocalDateTime.of(2026, 1, 2, 3, 4, 5),
+                StatusTopico.ABIERTO, "Juan", "Java", 2, 0L);
+
+        assertThat(CsvTopicos.fila(topico)).isEqualTo("7,\"Error, JPA\",Mensaje,2026-01-02T03:04:05,ABIERTO,Juan,Java,2\r\n");
+    }
+}
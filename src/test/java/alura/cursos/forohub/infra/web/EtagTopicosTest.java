@@ -0,0 +1,54 @@
+package alura.cursos.forohub.infra.web;
+
+import alura.cursos.forohub.domain.topico.StatusTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosListadoTopico;
+import alura.cursos.forohub.domain.topico.dto.DatosPaginaCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EtagTopicosTest {
+
+    @Test
+    void ifMatchAceptaLasVersionesDelTopicoConComparacionFuerte() {
+        assertThat(EtagTopicos.versionesIfMatch(7L, List.of("\"7-3\""))).containsExactly(3L);
+        assertThat(EtagTopicos.versionesIfMatch(7L, List.of("\"7-3\", \"7-4\""))).containsExactlyInAnyOrder(3L, 4L);
+        // Otro tópico, ETag débil o etiqueta mal formada: ninguna versión aceptada
+        assertThat(EtagTopicos.versionesIfMatch(7L, List.of("\"17-3\"", "W/\"7-3\"", "\"7-x\"", "\"7-\""))).isEmpty();
+    }
+
+    @Test
+    void sinIfMatchOConAsteriscoNoHayCondicion() {
+        assertThat(EtagTopicos.versionesIfMatch(7L, null)).isNull();
+        assertThat(EtagTopicos.versionesIfMatch(7L, List.of())).isNull();
+        assertThat(EtagTopicos.versionesIfMatch(7L, List.of("*"))).isNull();
+    }
+
+    @Test
+    void unaPaginaPorCursorConElMismoEtagRespondeNoModificada() {
+        var topico = new DatosListadoTopico(1L, "Título", "Mensaje", null, StatusTopico.ABIERTO, "Autor", "Java", 0, 2L);
+        var pagina = new DatosPaginaCursor<>(List.of(topico), 10, true, "abc");
+
+        var respuesta = EtagTopicos.condicional(peticion(null), pagina);
+        var etag = respuesta.getHeaders().getETag();
+
+        assertThat(etag).startsWith("W/\"2-");
+        assertThat(respuesta.getBody()).isSameAs(pagina);
+        assertThat(EtagTopicos.condicional(peticion(etag), pagina)).isNull();
+        var otraPagina = new DatosPaginaCursor<>(List.of(topico), 10, true, "def");
+        assertThat(EtagTopicos.condicional(peticion(etag), otraPagina)).isNotNull();
+    }
+
+    private static ServletWebRequest peticion(String ifNoneMatch) {
+        var request = new MockHttpServletRequest("GET", "/usuarios/1/topicos");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}